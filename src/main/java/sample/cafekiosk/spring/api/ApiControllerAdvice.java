@@ -1,11 +1,14 @@
 package sample.cafekiosk.spring.api;
 
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 public class ApiControllerAdvice {
 
@@ -19,4 +22,24 @@ public class ApiControllerAdvice {
         );
     }
 
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ApiResponse<Object> rejectedExecutionException(RejectedExecutionException e) {
+        return ApiResponse.of(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            e.getMessage(),
+            null
+        );
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ApiResponse<Object> queryTimeoutException(QueryTimeoutException e) {
+        return ApiResponse.of(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            e.getMessage(),
+            null
+        );
+    }
+
 }
@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.api.controller.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.mail.MailSendGuard;
+import sample.cafekiosk.spring.api.service.mail.response.MailSendMetricsResponse;
+
+@RequiredArgsConstructor
+@RestController
+public class MailController {
+
+    private final MailSendGuard mailSendGuard;
+
+    //메일 서버 circuit 상태와 거절된 호출 수
+    @GetMapping("/api/v1/mail/metrics")
+    public ApiResponse<MailSendMetricsResponse> getMetrics() {
+        return ApiResponse.ok(mailSendGuard.getMetrics());
+    }
+
+}
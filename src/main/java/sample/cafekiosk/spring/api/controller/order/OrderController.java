@@ -1,27 +1,83 @@
 package sample.cafekiosk.spring.api.controller.order;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.OrderIdempotencyService;
+import sample.cafekiosk.spring.api.service.order.OrderIngestionService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RequiredArgsConstructor
 @RestController
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderIngestionService orderIngestionService;
 
     @PostMapping("/api/v1/orders/new")
-    public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request) {
+    public ApiResponse<OrderResponse> createOrder(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                  @Valid @RequestBody OrderCreateRequest request) {
         LocalDateTime registeredDateTime = LocalDateTime.now();
+        //재시도 요청은 같은 키로 들어오므로 이전에 생성한 주문의 응답을 그대로 돌려줌
+        if (idempotencyKey != null) {
+            return ApiResponse.ok(orderIdempotencyService.createOrder(idempotencyKey, request.toServiceRequest(), registeredDateTime));
+        }
         return ApiResponse.ok(orderService.createOrder(request.toServiceRequest(), registeredDateTime));
     }
 
+    //요청 스레드를 붙잡지 않고 대기열에 넣은 뒤, 여러 주문과 함께 한 트랜잭션으로 처리되면 응답
+    @PostMapping("/api/v1/orders/async")
+    public CompletableFuture<ApiResponse<OrderResponse>> createOrderAsync(@Valid @RequestBody OrderCreateRequest request) {
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        return orderIngestionService.submit(request.toServiceRequest(), registeredDateTime)
+            .thenApply(ApiResponse::ok);
+    }
+
+    @PostMapping("/api/v1/orders/batch")
+    public ApiResponse<List<OrderBatchResponse>> createOrders(@Valid @RequestBody OrderBatchCreateRequest request) {
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        return ApiResponse.ok(orderService.createOrders(request.toServiceRequests(), registeredDateTime));
+    }
+
+    @GetMapping("/api/v1/orders/{orderId}")
+    public ApiResponse<OrderResponse> getOrder(@PathVariable Long orderId) {
+        return ApiResponse.ok(orderService.getOrder(orderId));
+    }
+
+    @GetMapping("/api/v1/orders")
+    public ApiResponse<List<OrderResponse>> getOrders(@RequestParam List<Long> orderIds) {
+        return ApiResponse.ok(orderService.getOrders(orderIds));
+    }
+
+    @PostMapping("/api/v1/orders/{orderId}/payment/complete")
+    public ApiResponse<OrderResponse> completePayment(@PathVariable Long orderId) {
+        return ApiResponse.ok(orderService.completePayment(orderId));
+    }
+
+    @PostMapping("/api/v1/orders/{orderId}/payment/fail")
+    public ApiResponse<OrderResponse> failPayment(@PathVariable Long orderId) {
+        return ApiResponse.ok(orderService.failPayment(orderId));
+    }
+
+    @PostMapping("/api/v1/orders/{orderId}/cancel")
+    public ApiResponse<OrderResponse> cancelOrder(@PathVariable Long orderId) {
+        return ApiResponse.ok(orderService.cancelOrder(orderId));
+    }
+
 }
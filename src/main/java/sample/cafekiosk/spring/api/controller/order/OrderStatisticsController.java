@@ -0,0 +1,58 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.order.BestSellerTracker;
+import sample.cafekiosk.spring.api.service.order.LiveSalesMetrics;
+import sample.cafekiosk.spring.api.service.order.OrderRangeStatisticsService;
+import sample.cafekiosk.spring.api.service.order.OrderSalesReportService;
+import sample.cafekiosk.spring.api.service.order.request.SalesPartitionUnit;
+import sample.cafekiosk.spring.api.service.order.response.BestSellerResponse;
+import sample.cafekiosk.spring.api.service.order.response.LiveSalesResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderSalesReportResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderSalesStatisticsResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+public class OrderStatisticsController {
+
+    private final OrderSalesReportService orderSalesReportService;
+    private final LiveSalesMetrics liveSalesMetrics;
+    private final OrderRangeStatisticsService orderRangeStatisticsService;
+    private final BestSellerTracker bestSellerTracker;
+
+    //최근 minutes분 동안 많이 팔린 상품, 수량은 근사치
+    @GetMapping("/api/v1/orders/statistics/best-sellers")
+    public ApiResponse<List<BestSellerResponse>> getBestSellers(@RequestParam(defaultValue = "10") int minutes,
+                                                                @RequestParam(defaultValue = "10") int size) {
+        return ApiResponse.ok(bestSellerTracker.getBestSellers(minutes, size));
+    }
+
+    //기간을 일/주 단위로 나눠 병렬로 집계
+    @GetMapping("/api/v1/orders/statistics/sales")
+    public ApiResponse<OrderSalesStatisticsResponse> getSalesStatistics(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                        @RequestParam(defaultValue = "WEEK") SalesPartitionUnit unit) {
+        return ApiResponse.ok(orderRangeStatisticsService.getSalesStatistics(from, to, unit));
+    }
+
+    //최근 1분, 5분, 1시간, 1일 동안의 결제완료 매출, 주문 수, 초당 판매 수량
+    @GetMapping("/api/v1/orders/statistics/live")
+    public ApiResponse<LiveSalesResponse> getLiveSales() {
+        return ApiResponse.ok(liveSalesMetrics.getLiveSales());
+    }
+
+    @GetMapping("/api/v1/orders/statistics/sales-report")
+    public ApiResponse<OrderSalesReportResponse> getSalesReport(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ApiResponse.ok(orderSalesReportService.getSalesReport(from, to));
+    }
+
+}
@@ -1,16 +1,40 @@
 package sample.cafekiosk.spring.api.controller.product;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductSearchRequest;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductSellingStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.api.service.product.ProductImportService;
+import sample.cafekiosk.spring.api.service.product.ProductSearchIndex;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportFormat;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 
 import javax.validation.Valid;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -18,15 +42,77 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/api/v1/products/new")
     public ApiResponse<ProductResponse> createProduct(@Valid @RequestBody ProductCreateRequest request) {
         return ApiResponse.ok(productService.createProduct(request.toServiceRequest()));
     }
 
+    //파일 전체를 메모리에 올리지 않고 요청 본문을 한 줄씩 읽으면서 등록
+    @PostMapping(value = "/api/v1/products/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ApiResponse<ProductImportResponse> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                             InputStream inputStream) throws IOException {
+        ProductImportFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? ProductImportFormat.NDJSON
+                : ProductImportFormat.CSV;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return ApiResponse.ok(productImportService.importProducts(reader, format));
+    }
+
+    @PostMapping("/api/v1/products/{productNumber}/selling-status")
+    public ApiResponse<ProductResponse> changeSellingStatus(@PathVariable String productNumber,
+                                                            @Valid @RequestBody ProductSellingStatusChangeRequest request) {
+        return ApiResponse.ok(productService.changeSellingStatus(productNumber, request.getSellingStatus()));
+    }
+
+    //미리 직렬화해둔 응답 바이트를 그대로 내려줌
+    //If-None-Match가 현재 버전의 ETag와 같으면 목록을 꺼내지 않고 304로 응답
     @GetMapping("/api/v1/products/selling")
-    public ApiResponse<List<ProductResponse>> getSellingProducts() {
-        return ApiResponse.ok(productService.getSellingProducts());
+    public ResponseEntity<byte[]> getSellingProducts(WebRequest webRequest) {
+        String eTag = productCatalogCache.getETag();
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .build();
+        }
+
+        ProductCatalogCache.Snapshot snapshot = productCatalogCache.getSellingProducts();
+        return ResponseEntity.ok()
+                .eTag(snapshot.getETag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getBody());
+    }
+
+    @GetMapping("/api/v1/products/selling/page")
+    public ApiResponse<ProductPageResponse> getSellingProductPage(@RequestParam(required = false) Long cursor,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        return ApiResponse.ok(productService.getSellingProducts(cursor, size));
+    }
+
+    //상품 이름 일부(음절, 자모, 초성)로 검색, DB를 거치지 않고 메모리 색인에서 찾음
+    @GetMapping("/api/v1/products/search")
+    public ApiResponse<List<ProductResponse>> searchProducts(@Valid ProductSearchRequest request) {
+        return ApiResponse.ok(productSearchIndex.search(request.toServiceRequest()));
+    }
+
+    //한 줄에 상품 하나씩(NDJSON) DB에서 읽는 대로 바로 내려씀
+    @GetMapping(value = "/api/v1/products/selling/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSellingProducts() {
+        StreamingResponseBody body = outputStream -> productService.forEachSellingProduct(product -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(product));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
 }
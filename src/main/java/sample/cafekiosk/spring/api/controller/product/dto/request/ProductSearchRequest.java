@@ -0,0 +1,44 @@
+package sample.cafekiosk.spring.api.controller.product.dto.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import sample.cafekiosk.spring.api.service.product.request.ProductSearchServiceRequest;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import javax.validation.constraints.NotBlank;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductSearchRequest {
+
+    @NotBlank(message = "검색어는 필수입니다.")
+    private String keyword;
+
+    private ProductSellingStatus sellingStatus;
+
+    private ProductType type;
+
+    private int size = 20;
+
+    @Builder
+    private ProductSearchRequest(String keyword, ProductSellingStatus sellingStatus, ProductType type, int size) {
+        this.keyword = keyword;
+        this.sellingStatus = sellingStatus;
+        this.type = type;
+        this.size = size;
+    }
+
+    public ProductSearchServiceRequest toServiceRequest() {
+        return ProductSearchServiceRequest.builder()
+            .keyword(keyword)
+            .sellingStatus(sellingStatus)
+            .type(type)
+            .size(size)
+            .build();
+    }
+
+}
@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.api.controller.product.dto.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+import javax.validation.constraints.NotNull;
+
+@Getter
+@NoArgsConstructor
+public class ProductSellingStatusChangeRequest {
+
+    @NotNull(message = "상품 판매상태는 필수입니다.")
+    private ProductSellingStatus sellingStatus;
+
+    @Builder
+    private ProductSellingStatusChangeRequest(ProductSellingStatus sellingStatus) {
+        this.sellingStatus = sellingStatus;
+    }
+
+}
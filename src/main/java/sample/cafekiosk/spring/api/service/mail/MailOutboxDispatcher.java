@@ -0,0 +1,185 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.history.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxStatus;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * outbox에 쌓인 메일을 모아서 전송
+ * 대기 중인 행을 batch 단위로 가져가(claim) 정해진 개수의 스레드로 동시에 보내고, 결과를 한 트랜잭션에서 반영한다.
+ * 실패한 메일은 시도 횟수에 따라 간격을 늘려가며(지수 backoff) 다시 보내고, 최대 횟수를 넘으면 FAILED로 남긴다.
+ * 메일 서버 circuit이 열려 있으면 꺼내지 않고, 보내는 중에 거절된 메일은 시도 횟수를 늘리지 않고 다시 대기시킨다.
+ */
+@Slf4j
+@Component
+public class MailOutboxDispatcher {
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final MailSendHistoryWriter mailSendHistoryWriter;
+    private final MailSendGuard mailSendGuard;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService senders;
+
+    private final boolean dispatchEnabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMillis;
+    private final long backoffMaxMillis;
+    private final long claimTimeoutSeconds;
+
+    public MailOutboxDispatcher(MailOutboxRepository mailOutboxRepository,
+                                MailSendHistoryWriter mailSendHistoryWriter,
+                                MailSendGuard mailSendGuard,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${cafekiosk.mail.outbox.dispatch-enabled:true}") boolean dispatchEnabled,
+                                @Value("${cafekiosk.mail.outbox.batch-size:100}") int batchSize,
+                                @Value("${cafekiosk.mail.outbox.send-concurrency:4}") int sendConcurrency,
+                                @Value("${cafekiosk.mail.outbox.max-attempts:5}") int maxAttempts,
+                                @Value("${cafekiosk.mail.outbox.backoff-base-ms:1000}") long backoffBaseMillis,
+                                @Value("${cafekiosk.mail.outbox.backoff-max-ms:300000}") long backoffMaxMillis,
+                                @Value("${cafekiosk.mail.outbox.claim-timeout-seconds:300}") long claimTimeoutSeconds) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSendHistoryWriter = mailSendHistoryWriter;
+        this.mailSendGuard = mailSendGuard;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.senders = Executors.newFixedThreadPool(sendConcurrency, new SenderThreadFactory());
+        this.dispatchEnabled = dispatchEnabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMillis = backoffBaseMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.claimTimeoutSeconds = claimTimeoutSeconds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    //대기 중인 메일이 batch 크기만큼 차 있으면 쉬지 않고 이어서 보냄
+    @Scheduled(fixedDelayString = "${cafekiosk.mail.outbox.poll-interval-ms:500}")
+    public void poll() {
+        if (!dispatchEnabled) {
+            return;
+        }
+        int dispatched;
+        do {
+            dispatched = dispatch();
+        } while (dispatched == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.mail.outbox.claim-check-interval-ms:60000}")
+    public void releaseExpiredClaims() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minusSeconds(claimTimeoutSeconds);
+        Integer released = transactionTemplate.execute(status -> mailOutboxRepository.releaseExpiredClaims(
+            expiredBefore, MailOutboxStatus.PENDING, MailOutboxStatus.SENDING));
+        if (released != null && released > 0) {
+            log.warn("전송 중 멈춘 메일 {}건을 다시 대기 상태로 돌림", released);
+        }
+    }
+
+    //한 batch를 보내고 처리한 메일 수를 반환
+    public int dispatch() {
+        if (!mailSendGuard.isAvailable()) {
+            return 0;
+        }
+        String claimToken = UUID.randomUUID().toString();
+        List<MailOutbox> claimed = transactionTemplate.execute(status -> claim(claimToken, LocalDateTime.now()));
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, MailSendResult> results = send(claimed);
+        List<MailSendHistory> histories = transactionTemplate.execute(status -> complete(claimToken, results, LocalDateTime.now()));
+        //히스토리는 outbox 상태가 커밋된 뒤에 모아서 저장
+        mailSendHistoryWriter.write(histories);
+        return claimed.size();
+    }
+
+    private List<MailOutbox> claim(String claimToken, LocalDateTime now) {
+        List<Long> ids = mailOutboxRepository.findIdsToDispatch(MailOutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        mailOutboxRepository.claim(ids, claimToken, now, MailOutboxStatus.PENDING, MailOutboxStatus.SENDING);
+        return mailOutboxRepository.findAllByClaimToken(claimToken);
+    }
+
+    private Map<Long, MailSendResult> send(List<MailOutbox> outboxes) {
+        Map<Long, CompletableFuture<MailSendResult>> futures = new LinkedHashMap<>();
+        for (MailOutbox outbox : outboxes) {
+            futures.put(outbox.getId(), CompletableFuture.supplyAsync(() -> trySend(outbox), senders));
+        }
+
+        Map<Long, MailSendResult> results = new HashMap<>();
+        futures.forEach((id, future) -> results.put(id, future.join()));
+        return results;
+    }
+
+    private MailSendResult trySend(MailOutbox outbox) {
+        try {
+            return mailSendGuard.send(outbox.getFromEmail(), outbox.getToEmail(), outbox.getSubject(), outbox.getContent());
+        } catch (RuntimeException e) {
+            log.warn("메일 전송 실패 : outboxId={}, attempt={}", outbox.getId(), outbox.getAttemptCount() + 1, e);
+            return MailSendResult.FAILED;
+        }
+    }
+
+    private List<MailSendHistory> complete(String claimToken, Map<Long, MailSendResult> results, LocalDateTime now) {
+        List<MailSendHistory> histories = new ArrayList<>();
+        for (MailOutbox outbox : mailOutboxRepository.findAllByClaimToken(claimToken)) {
+            MailSendResult result = results.getOrDefault(outbox.getId(), MailSendResult.FAILED);
+            if (result == MailSendResult.SENT) {
+                outbox.markSent(now);
+                histories.add(outbox.toHistory());
+            } else if (result == MailSendResult.REJECTED) {
+                outbox.defer(now);
+            } else {
+                outbox.markFailed(now.plusNanos(backoffMillis(outbox.getAttemptCount() + 1) * 1_000_000), maxAttempts);
+            }
+        }
+        return histories;
+    }
+
+    //base * 2^(시도 횟수 - 1), 최대값에서 자르고 같은 시각에 몰리지 않도록 최대 20%까지 흔듦
+    private long backoffMillis(int attempt) {
+        long exponential = backoffBaseMillis << Math.min(attempt - 1, 30);
+        long capped = Math.min(exponential, backoffMaxMillis);
+        return capped + ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+    }
+
+    private static class SenderThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mail-sender-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
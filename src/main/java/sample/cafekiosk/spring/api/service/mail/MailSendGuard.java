@@ -0,0 +1,91 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sample.cafekiosk.spring.api.service.mail.response.MailSendMetricsResponse;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.support.resilience.Bulkhead;
+import sample.cafekiosk.spring.support.resilience.CircuitBreaker;
+
+/**
+ * 메일 서버 호출을 circuit breaker와 bulkhead로 감싼다.
+ * 메일 서버가 계속 실패하거나 느려지면 한동안 호출하지 않고 바로 REJECTED를 돌려주고,
+ * 동시에 메일 서버를 기다리는 스레드 수도 제한해서 장애가 다른 기능으로 번지지 않게 한다.
+ */
+@Component
+public class MailSendGuard {
+
+    private final MailSendClient mailSendClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public MailSendGuard(MailSendClient mailSendClient,
+                         @Value("${cafekiosk.mail.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+                         @Value("${cafekiosk.mail.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                         @Value("${cafekiosk.mail.circuit-breaker.window-size:20}") int windowSize,
+                         @Value("${cafekiosk.mail.circuit-breaker.open-duration-ms:30000}") long openDurationMillis,
+                         @Value("${cafekiosk.mail.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                         @Value("${cafekiosk.mail.circuit-breaker.slow-call-ms:5000}") long slowCallMillis,
+                         @Value("${cafekiosk.mail.bulkhead.max-concurrent-calls:8}") int maxConcurrentCalls) {
+        this.mailSendClient = mailSendClient;
+        this.circuitBreaker = CircuitBreaker.builder()
+                .failureRateThreshold(failureRateThreshold)
+                .minimumCalls(minimumCalls)
+                .windowSize(windowSize)
+                .openDurationMillis(openDurationMillis)
+                .halfOpenCalls(halfOpenCalls)
+                .slowCallMillis(slowCallMillis)
+                .build();
+        this.bulkhead = new Bulkhead(maxConcurrentCalls);
+    }
+
+    /**
+     * 서버가 수신자를 거절해서 false를 받은 경우는 서버가 정상 응답한 것이므로 circuit에는 성공으로 센다.
+     * 예외는 circuit에 실패로 센 뒤 그대로 던진다.
+     */
+    public MailSendResult send(String fromEmail, String toEmail, String subject, String content) {
+        //bulkhead 자리를 먼저 잡아야 HALF_OPEN 시험 호출 자리를 잡고 버리는 일이 없음
+        if (!bulkhead.tryAcquire()) {
+            return MailSendResult.REJECTED;
+        }
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                return MailSendResult.REJECTED;
+            }
+
+            long start = System.currentTimeMillis();
+            boolean sent;
+            try {
+                sent = mailSendClient.sendEmail(fromEmail, toEmail, subject, content);
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            }
+            circuitBreaker.onSuccess(System.currentTimeMillis() - start);
+            return sent ? MailSendResult.SENT : MailSendResult.FAILED;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    //circuit이 열려 있는 동안에는 outbox에서 메일을 꺼내지 않음
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    public MailSendMetricsResponse getMetrics() {
+        return MailSendMetricsResponse.builder()
+                .circuitStatus(circuitBreaker.getStatus())
+                .circuitOpenedCount(circuitBreaker.getOpenedCount())
+                .circuitRejectedCount(circuitBreaker.getRejectedCount())
+                .bulkheadInFlight(bulkhead.getInFlight())
+                .bulkheadMaxConcurrentCalls(bulkhead.getMaxConcurrentCalls())
+                .bulkheadRejectedCount(bulkhead.getRejectedCount())
+                .build();
+    }
+
+    public void reset() {
+        circuitBreaker.reset();
+    }
+
+}
@@ -0,0 +1,115 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 메일 전송 히스토리를 메모리에 모아두었다가 JDBC batch insert로 한 번에 저장
+ * MailSendHistory.id가 IDENTITY라 JPA로는 insert를 묶을 수 없어서 직접 저장한다.
+ * flush-size만큼 쌓이거나 flush-interval-ms마다, 그리고 종료 시 저장한다.
+ * 버퍼가 가득 차면 버리지 않고 기록하려는 스레드가 직접 flush한 뒤 넣는다(caller runs).
+ * 아직 저장되지 않은 히스토리는 프로세스가 비정상 종료되면 사라질 수 있다.
+ */
+@Slf4j
+@Component
+public class MailSendHistoryWriter {
+
+    private static final String INSERT_HISTORY_SQL =
+        "insert into mail_send_history (from_email, to_email, subject, content, created_date_time, modified_date_time) " +
+            "values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<MailSendHistory> buffer;
+    private final int flushSize;
+
+    //flush는 한 번에 하나만, 먼저 꺼낸 히스토리가 저장된 뒤에 다음 flush가 진행되도록
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public MailSendHistoryWriter(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${cafekiosk.mail.history.buffer-capacity:10000}") int bufferCapacity,
+                                 @Value("${cafekiosk.mail.history.flush-size:500}") int flushSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.flushSize = flushSize;
+    }
+
+    public void write(Collection<MailSendHistory> histories) {
+        for (MailSendHistory history : histories) {
+            while (!buffer.offer(history)) {
+                flush();
+            }
+        }
+        if (buffer.size() >= flushSize) {
+            flush();
+        }
+    }
+
+    //버퍼에 있는 히스토리를 모두 저장하고 저장한 개수를 반환
+    @Scheduled(fixedDelayString = "${cafekiosk.mail.history.flush-interval-ms:1000}")
+    public int flush() {
+        flushLock.lock();
+        try {
+            int written = 0;
+            List<MailSendHistory> batch = new ArrayList<>(flushSize);
+            while (buffer.drainTo(batch, flushSize) > 0) {
+                written += insert(batch);
+                batch.clear();
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    //저장에 실패한 히스토리 수, 실패한 batch는 다시 시도하지 않음
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private int insert(List<MailSendHistory> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, batch, batch.size(), (ps, history) -> {
+                    ps.setString(1, history.getFromEmail());
+                    ps.setString(2, history.getToEmail());
+                    ps.setString(3, history.getSubject());
+                    ps.setString(4, history.getContent());
+                    ps.setTimestamp(5, now);
+                    ps.setTimestamp(6, now);
+                }));
+            return batch.size();
+        } catch (DataAccessException e) {
+            failedCount.addAndGet(batch.size());
+            log.error("메일 전송 히스토리 {}건 저장 실패", batch.size(), e);
+            return 0;
+        }
+    }
+
+}
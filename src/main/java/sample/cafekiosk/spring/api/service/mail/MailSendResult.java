@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum MailSendResult {
+
+    SENT("전송 완료"),
+    FAILED("전송 실패"),
+    REJECTED("메일 서버 보호를 위해 보내지 않음");
+
+    private final String text;
+
+}
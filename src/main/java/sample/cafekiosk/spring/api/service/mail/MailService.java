@@ -1,30 +1,93 @@
 package sample.cafekiosk.spring.api.service.mail;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import sample.cafekiosk.spring.client.mail.MailSendClient;
-import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
-import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.client.mail.MailAddress;
+import sample.cafekiosk.spring.domain.history.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxStatus;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 @RequiredArgsConstructor
 @Service
 public class MailService {
 
-    private final MailSendClient mailSendClient;
-    private final MailSendHistoryRepository mailSendHistoryRepository;
-
-    //메일 전송 후 히스토리를 남기는 서비스라 가정
-    public boolean sendMail(String fromEmail, String toEmail, String subject, String content) {
-        boolean result = mailSendClient.sendEmail(fromEmail, toEmail, subject, content);
-        if(result){
-            mailSendHistoryRepository.save(MailSendHistory.builder()
-                    .fromEmail(fromEmail)
-                    .toEmail(toEmail)
-                    .subject(subject)
-                    .content(content)
-                    .build());
-            return true;
+    private static final String INSERT_OUTBOX_SQL =
+        "insert into mail_outbox (from_email, to_email, subject, content, status, attempt_count, next_attempt_date_time, " +
+            "created_date_time, modified_date_time) values (?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    //메일을 바로 보내지 않고 outbox에 저장만 함, 전송과 히스토리 저장은 MailOutboxDispatcher가 처리
+    //호출한 쪽의 트랜잭션에 참여하므로 그 트랜잭션이 롤백되면 메일도 나가지 않음
+    //전송 결과는 나중에 정해지므로 outbox id를 돌려줌
+    @Transactional
+    public Long sendMail(String fromEmail, String toEmail, String subject, String content) {
+        //잘못된 주소는 outbox에 넣기 전에 거절 (SMTP 명령, 헤더에 줄바꿈을 끼워 넣지 못하게)
+        MailAddress.validate(fromEmail);
+        MailAddress.validate(toEmail);
+        return mailOutboxRepository.save(MailOutbox.create(fromEmail, toEmail, subject, content, LocalDateTime.now()))
+            .getId();
+    }
+
+    /**
+     * 같은 메일을 여러 수신자에게 보낸다. 중복된 수신자는 한 번만 보낸다.
+     * outbox에는 JDBC batch insert로 한 번에 저장하고, 전송은 MailOutboxDispatcher가 병렬로 처리한다.
+     * @return 수신자별 outbox id (요청한 수신자 순서), 수신자마다 전송 결과를 outbox에서 따로 확인할 수 있음
+     */
+    @Transactional
+    public Map<String, Long> sendMails(String fromEmail, Collection<String> toEmails, String subject, String content) {
+        if (toEmails.isEmpty()) {
+            throw new IllegalArgumentException("메일 수신자는 1명 이상이어야 합니다.");
         }
-        return false;
+
+        MailAddress.validate(fromEmail);
+        toEmails.forEach(MailAddress::validate);
+
+        Set<String> recipients = new LinkedHashSet<>(toEmails);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        //JdbcTemplate.batchUpdate는 생성된 키를 돌려주지 않으므로 batch를 직접 실행하고 키를 수신자 순서대로 읽음
+        return jdbcTemplate.execute((ConnectionCallback<Map<String, Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_OUTBOX_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (String toEmail : recipients) {
+                    ps.setString(1, fromEmail);
+                    ps.setString(2, toEmail);
+                    ps.setString(3, subject);
+                    ps.setString(4, content);
+                    ps.setString(5, MailOutboxStatus.PENDING.name());
+                    ps.setTimestamp(6, now);
+                    ps.setTimestamp(7, now);
+                    ps.setTimestamp(8, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                Map<String, Long> outboxIds = new LinkedHashMap<>();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (String toEmail : recipients) {
+                        if (!keys.next()) {
+                            throw new IllegalStateException("저장한 메일의 outbox id를 읽지 못했습니다.");
+                        }
+                        outboxIds.put(toEmail, keys.getLong(1));
+                    }
+                }
+                return Collections.unmodifiableMap(outboxIds);
+            }
+        });
     }
 }
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.api.service.mail.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.support.resilience.CircuitBreaker;
+
+@Getter
+public class MailSendMetricsResponse {
+
+    private final CircuitBreaker.Status circuitStatus;
+    private final long circuitOpenedCount;
+    private final long circuitRejectedCount;
+    private final int bulkheadInFlight;
+    private final int bulkheadMaxConcurrentCalls;
+    private final long bulkheadRejectedCount;
+
+    @Builder
+    private MailSendMetricsResponse(CircuitBreaker.Status circuitStatus, long circuitOpenedCount, long circuitRejectedCount,
+                                    int bulkheadInFlight, int bulkheadMaxConcurrentCalls, long bulkheadRejectedCount) {
+        this.circuitStatus = circuitStatus;
+        this.circuitOpenedCount = circuitOpenedCount;
+        this.circuitRejectedCount = circuitRejectedCount;
+        this.bulkheadInFlight = bulkheadInFlight;
+        this.bulkheadMaxConcurrentCalls = bulkheadMaxConcurrentCalls;
+        this.bulkheadRejectedCount = bulkheadRejectedCount;
+    }
+
+}
@@ -0,0 +1,145 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.api.service.order.response.BestSellerResponse;
+import sample.cafekiosk.spring.support.collection.CountMinSketch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * 최근 N분 동안 많이 팔린 상품(근사치)
+ * 1분마다 Count-Min sketch와 고정 크기의 후보 상품 칸을 새로 만들어 최근 60분치를 고리 모양으로 보관한다.
+ * 상품 종류가 아무리 많아도 메모리는 고정이고, 기록은 CAS와 원자적 덧셈만 사용한다.
+ * 후보 칸은 상품마다 두 칸 중 하나를 차지하며, 더 적게 팔린 상품을 밀어낸다.
+ */
+@Component
+public class BestSellerTracker {
+
+    public static final int MAX_WINDOW_MINUTES = 60;
+
+    private static final long MINUTE_MILLIS = 60_000;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+    private static final int CANDIDATE_SLOTS = 128;
+
+    private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(MAX_WINDOW_MINUTES);
+
+    @TransactionalEventListener
+    public void record(OrderCreatedEvent event) {
+        record(System.currentTimeMillis(), event.getProductNumbers());
+    }
+
+    public void record(long nowMillis, List<String> productNumbers) {
+        Slot slot = slotOf(nowMillis / MINUTE_MILLIS);
+        if (slot == null) {
+            return;
+        }
+        for (String productNumber : productNumbers) {
+            slot.sketch.add(productNumber, 1);
+            slot.offer(productNumber);
+        }
+    }
+
+    public List<BestSellerResponse> getBestSellers(int minutes, int size) {
+        return getBestSellers(System.currentTimeMillis(), minutes, size);
+    }
+
+    //현재 분을 포함한 최근 minutes분 동안의 판매 수량 추정치 순위
+    public List<BestSellerResponse> getBestSellers(long nowMillis, int minutes, int size) {
+        if (minutes <= 0 || minutes > MAX_WINDOW_MINUTES) {
+            throw new IllegalArgumentException("조회 기간은 1분 이상 " + MAX_WINDOW_MINUTES + "분 이하여야 합니다.");
+        }
+        long currentEpoch = nowMillis / MINUTE_MILLIS;
+        List<Slot> windowSlots = new ArrayList<>(minutes);
+        for (int i = 0; i < slots.length(); i++) {
+            Slot slot = slots.get(i);
+            if (slot != null && slot.epoch > currentEpoch - minutes && slot.epoch <= currentEpoch) {
+                windowSlots.add(slot);
+            }
+        }
+
+        Set<String> candidates = new HashSet<>();
+        windowSlots.forEach(slot -> slot.collectCandidates(candidates));
+
+        return candidates.stream()
+            .map(productNumber -> new BestSellerResponse(productNumber, windowSlots.stream()
+                .mapToLong(slot -> slot.sketch.estimate(productNumber))
+                .sum()))
+            .sorted(Comparator.comparingLong(BestSellerResponse::getEstimatedQuantity).reversed()
+                .thenComparing(BestSellerResponse::getProductNumber))
+            .limit(size)
+            .collect(Collectors.toList());
+    }
+
+    private Slot slotOf(long epoch) {
+        int index = (int) Math.floorMod(epoch, (long) slots.length());
+        while (true) {
+            Slot slot = slots.get(index);
+            if (slot != null && slot.epoch == epoch) {
+                return slot;
+            }
+            if (slot != null && slot.epoch > epoch) {
+                return null;
+            }
+            Slot fresh = new Slot(epoch);
+            if (slots.compareAndSet(index, slot, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static class Slot {
+        private final long epoch;
+        private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        private final AtomicReferenceArray<String> candidates = new AtomicReferenceArray<>(CANDIDATE_SLOTS);
+
+        private Slot(long epoch) {
+            this.epoch = epoch;
+        }
+
+        //상품번호마다 정해진 두 칸 중 빈 칸에 넣거나, 추정치가 더 작은 상품을 밀어냄
+        private void offer(String productNumber) {
+            int hash = productNumber.hashCode() * 0x9E3779B9;
+            int first = (hash >>> 16) & (CANDIDATE_SLOTS - 1);
+            int second = hash & (CANDIDATE_SLOTS - 1);
+
+            String firstCandidate = candidates.get(first);
+            String secondCandidate = candidates.get(second);
+            if (productNumber.equals(firstCandidate) || productNumber.equals(secondCandidate)) {
+                return;
+            }
+            if (firstCandidate == null && candidates.compareAndSet(first, null, productNumber)) {
+                return;
+            }
+            if (secondCandidate == null && candidates.compareAndSet(second, null, productNumber)) {
+                return;
+            }
+
+            long estimate = sketch.estimate(productNumber);
+            long firstEstimate = firstCandidate == null ? 0 : sketch.estimate(firstCandidate);
+            long secondEstimate = secondCandidate == null ? 0 : sketch.estimate(secondCandidate);
+            int victim = firstEstimate <= secondEstimate ? first : second;
+            String victimCandidate = firstEstimate <= secondEstimate ? firstCandidate : secondCandidate;
+            if (estimate > Math.min(firstEstimate, secondEstimate)) {
+                candidates.compareAndSet(victim, victimCandidate, productNumber);
+            }
+        }
+
+        private void collectCandidates(Set<String> target) {
+            for (int i = 0; i < candidates.length(); i++) {
+                String candidate = candidates.get(i);
+                if (candidate != null) {
+                    target.add(candidate);
+                }
+            }
+        }
+    }
+
+}
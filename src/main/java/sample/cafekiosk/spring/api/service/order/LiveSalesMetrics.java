@@ -0,0 +1,50 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.api.service.order.response.LiveSalesResponse;
+
+import java.util.List;
+
+/**
+ * 결제완료 주문의 실시간 매출 지표
+ * 최근 1시간은 초 단위, 최근 1일은 분 단위 버킷에 쌓아두고 조회 시 버킷만 더한다. (orders 테이블은 조회하지 않음)
+ * 재시작하면 0부터 다시 쌓인다.
+ */
+@Component
+public class LiveSalesMetrics {
+
+    private static final int SECONDS_OF_HOUR = 60 * 60;
+    private static final int MINUTES_OF_DAY = 24 * 60;
+
+    private final TimeBucketRing secondBuckets = new TimeBucketRing(1_000, SECONDS_OF_HOUR);
+    private final TimeBucketRing minuteBuckets = new TimeBucketRing(60_000, MINUTES_OF_DAY);
+
+    @TransactionalEventListener
+    public void record(OrderPaymentCompletedEvent event) {
+        record(System.currentTimeMillis(), event.getTotalPrice(), event.getItemCount());
+    }
+
+    public void record(long nowMillis, int totalPrice, int itemCount) {
+        secondBuckets.add(nowMillis, 1, totalPrice, itemCount);
+        minuteBuckets.add(nowMillis, 1, totalPrice, itemCount);
+    }
+
+    public LiveSalesResponse getLiveSales() {
+        return getLiveSales(System.currentTimeMillis());
+    }
+
+    public LiveSalesResponse getLiveSales(long nowMillis) {
+        return new LiveSalesResponse(List.of(
+            toWindow("1m", 60, secondBuckets.sum(nowMillis, 60)),
+            toWindow("5m", 5 * 60, secondBuckets.sum(nowMillis, 5 * 60)),
+            toWindow("1h", SECONDS_OF_HOUR, secondBuckets.sum(nowMillis, SECONDS_OF_HOUR)),
+            toWindow("1d", MINUTES_OF_DAY * 60, minuteBuckets.sum(nowMillis, MINUTES_OF_DAY))
+        ));
+    }
+
+    private static LiveSalesResponse.Window toWindow(String name, long seconds, TimeBucketRing.Totals totals) {
+        return new LiveSalesResponse.Window(name, seconds, totals.getOrderCount(), totals.getAmount(), totals.getItemCount());
+    }
+
+}
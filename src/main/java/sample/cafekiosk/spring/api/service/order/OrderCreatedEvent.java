@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.Getter;
+
+import java.util.List;
+
+//주문이 생성되었을 때 발행, 같은 상품을 여러 개 담으면 상품번호도 그만큼 들어있음
+@Getter
+public class OrderCreatedEvent {
+
+    private final List<String> productNumbers;
+
+    public OrderCreatedEvent(List<String> productNumbers) {
+        this.productNumbers = productNumbers;
+    }
+
+}
@@ -0,0 +1,137 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotency;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.support.cache.ExpiringLruCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key 헤더로 들어온 주문 생성 요청을 한 번만 처리
+ * 최근 키는 메모리 캐시에서, 캐시에 없는 키는 order_idempotency 테이블에서 이전 응답을 찾아 돌려준다.
+ * 같은 키로 다른 내용의 주문이 들어오면 이전 응답을 돌려주지 않고 거절하며, 보관 기간이 지난 키는 주기적으로 지운다.
+ */
+@Slf4j
+@Service
+public class OrderIdempotencyService {
+
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final OrderIdempotencyRepository orderIdempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExpiringLruCache<String, StoredResponse> responseCache;
+    private final long retentionHours;
+
+    public OrderIdempotencyService(OrderService orderService,
+                                   OrderRepository orderRepository,
+                                   OrderIdempotencyRepository orderIdempotencyRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${cafekiosk.order.idempotency.cache-size:10000}") int cacheSize,
+                                   @Value("${cafekiosk.order.idempotency.cache-ttl-seconds:600}") long cacheTtlSeconds,
+                                   @Value("${cafekiosk.order.idempotency.retention-hours:24}") long retentionHours) {
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.orderIdempotencyRepository = orderIdempotencyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.responseCache = new ExpiringLruCache<>(cacheSize, Duration.ofSeconds(cacheTtlSeconds));
+        this.retentionHours = retentionHours;
+    }
+
+    public OrderResponse createOrder(String idempotencyKey, OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        String requestHash = hash(request);
+        StoredResponse cachedResponse = responseCache.get(idempotencyKey);
+        if (cachedResponse != null) {
+            return cachedResponse.matchedResponse(requestHash);
+        }
+
+        StoredResponse storedResponse = findStoredResponse(idempotencyKey)
+            .orElseGet(() -> createOrderOnce(idempotencyKey, requestHash, request, registeredDateTime));
+        responseCache.put(idempotencyKey, storedResponse);
+        return storedResponse.matchedResponse(requestHash);
+    }
+
+    @Scheduled(fixedDelayString = "${cafekiosk.order.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        purgeKeysCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    public int purgeKeysCreatedBefore(LocalDateTime expiredBefore) {
+        Integer deleted = transactionTemplate.execute(status -> orderIdempotencyRepository.deleteAllByCreatedDateTimeBefore(expiredBefore));
+        if (deleted != null && deleted > 0) {
+            log.info("보관 기간이 지난 Idempotency-Key {}건 삭제", deleted);
+        }
+        return deleted == null ? 0 : deleted;
+    }
+
+    //주문과 키를 한 트랜잭션에 저장, 같은 키로 동시에 들어온 요청은 unique 제약에 걸려 롤백되고 먼저 저장된 응답을 받음
+    private StoredResponse createOrderOnce(String idempotencyKey, String requestHash, OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        try {
+            return transactionTemplate.execute(status -> {
+                OrderResponse response = orderService.createOrder(request, registeredDateTime);
+                orderIdempotencyRepository.saveAndFlush(OrderIdempotency.create(idempotencyKey, requestHash, response.getId()));
+                return new StoredResponse(requestHash, response);
+            });
+        } catch (DataIntegrityViolationException e) {
+            return findStoredResponse(idempotencyKey)
+                .orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<StoredResponse> findStoredResponse(String idempotencyKey) {
+        return transactionTemplate.execute(status -> orderIdempotencyRepository.findByIdempotencyKey(idempotencyKey)
+            .flatMap(orderIdempotency -> orderRepository.findWithProductsById(orderIdempotency.getOrderId())
+                .map(order -> new StoredResponse(orderIdempotency.getRequestHash(), OrderResponse.of(order)))));
+    }
+
+    //상품번호 순서만 다른 요청은 같은 주문으로 봄
+    private static String hash(OrderCreateServiceRequest request) {
+        List<String> productNumbers = new ArrayList<>(request.getProductNumbers());
+        Collections.sort(productNumbers);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashed = digest.digest(String.join(",", productNumbers).getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hashed.length * 2);
+            for (byte b : hashed) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class StoredResponse {
+        private final String requestHash;
+        private final OrderResponse response;
+
+        private StoredResponse(String requestHash, OrderResponse response) {
+            this.requestHash = requestHash;
+            this.response = response;
+        }
+
+        private OrderResponse matchedResponse(String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new IllegalArgumentException("같은 Idempotency-Key로 다른 주문을 요청할 수 없습니다.");
+            }
+            return response;
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 생성 요청을 대기열에 모아두고, 소수의 writer 스레드가 여러 건을 한 트랜잭션으로 처리(group commit)
+ * 요청 스레드는 CompletableFuture로 결과를 기다리고, 대기열이 가득 차면 바로 거절된다.
+ */
+@Slf4j
+@Service
+public class OrderIngestionService {
+
+    private final OrderService orderService;
+    private final BlockingQueue<PendingOrder> queue;
+    private final int writerCount;
+    private final int batchSize;
+    private final List<Thread> writers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public OrderIngestionService(OrderService orderService,
+                                 @Value("${cafekiosk.order.ingestion.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${cafekiosk.order.ingestion.writer-threads:2}") int writerCount,
+                                 @Value("${cafekiosk.order.ingestion.batch-size:50}") int batchSize) {
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writerCount = writerCount;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < writerCount; i++) {
+            Thread writer = new Thread(this::drainLoop, "order-ingestion-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    //대기 중인 주문은 모두 처리한 뒤 종료
+    //writer가 끝난 뒤에 들어온 주문은 처리할 스레드가 없으므로 거절로 완료시켜 요청이 멈춰 있지 않게 함
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        List<PendingOrder> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        leftovers.forEach(pendingOrder -> pendingOrder.result.completeExceptionally(
+            new RejectedExecutionException("서버가 종료 중이라 주문을 처리하지 못했습니다.")));
+    }
+
+    public CompletableFuture<OrderResponse> submit(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+        PendingOrder pendingOrder = new PendingOrder(request, registeredDateTime);
+        if (!running || !queue.offer(pendingOrder)) {
+            throw new RejectedExecutionException("주문이 많아 잠시 후 다시 시도해주세요.");
+        }
+        //확인한 뒤 넣기 전에 stop()이 시작됐으면, 아직 대기열에 남아 있는 경우에만 빼고 거절 (이미 꺼내졌으면 writer나 stop()이 완료시킴)
+        if (!running && queue.remove(pendingOrder)) {
+            throw new RejectedExecutionException("서버가 종료 중이라 주문을 받을 수 없습니다.");
+        }
+        return pendingOrder.result;
+    }
+
+    private void drainLoop() {
+        List<PendingOrder> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        List<OrderBatchResponse> responses;
+        try {
+            responses = orderService.createOrders(
+                batch.stream().map(pendingOrder -> pendingOrder.request).collect(Collectors.toList()),
+                batch.stream().map(pendingOrder -> pendingOrder.registeredDateTime).collect(Collectors.toList())
+            );
+        } catch (RuntimeException e) {
+            //배치 전체가 롤백된 경우(다른 트랜잭션과 재고 경합 등) 한 건씩 다시 처리
+            log.warn("주문 {}건 일괄 처리 실패, 개별 처리로 전환합니다.", batch.size(), e);
+            batch.forEach(this::commitOne);
+            return;
+        }
+
+        for (OrderBatchResponse response : responses) {
+            PendingOrder pendingOrder = batch.get(response.getIndex());
+            if (response.isSuccess()) {
+                pendingOrder.result.complete(response.getOrder());
+            } else {
+                pendingOrder.result.completeExceptionally(new IllegalArgumentException(response.getFailureMessage()));
+            }
+        }
+    }
+
+    private void commitOne(PendingOrder pendingOrder) {
+        try {
+            pendingOrder.result.complete(orderService.createOrder(pendingOrder.request, pendingOrder.registeredDateTime));
+        } catch (RuntimeException e) {
+            pendingOrder.result.completeExceptionally(e);
+        }
+    }
+
+    private static class PendingOrder {
+        private final OrderCreateServiceRequest request;
+        private final LocalDateTime registeredDateTime;
+        private final CompletableFuture<OrderResponse> result = new CompletableFuture<>();
+
+        private PendingOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+            this.request = request;
+            this.registeredDateTime = registeredDateTime;
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+
+import java.time.LocalDateTime;
+
+//주문이 결제완료 상태가 되었을 때 발행, 매출 집계와 실시간 매출 지표는 커밋 이후에 받아 반영
+@Getter
+public class OrderPaymentCompletedEvent {
+
+    private final Long orderId;
+    private final LocalDateTime registeredDateTime;
+    private final int totalPrice;
+    private final int itemCount;
+
+    public OrderPaymentCompletedEvent(Long orderId, LocalDateTime registeredDateTime, int totalPrice, int itemCount) {
+        this.orderId = orderId;
+        this.registeredDateTime = registeredDateTime;
+        this.totalPrice = totalPrice;
+        this.itemCount = itemCount;
+    }
+
+    public static OrderPaymentCompletedEvent of(Order order) {
+        int itemCount = order.getOrderProducts().stream()
+            .mapToInt(OrderProduct::getQuantity)
+            .sum();
+        return new OrderPaymentCompletedEvent(order.getId(), order.getRegisteredDateTime(), order.getTotalPrice(), itemCount);
+    }
+
+}
@@ -0,0 +1,189 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.request.SalesPartitionUnit;
+import sample.cafekiosk.spring.api.service.order.response.OrderSalesStatisticsResponse;
+import sample.cafekiosk.spring.domain.order.OrderHourlySales;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.sales.SalesRollup;
+import sample.cafekiosk.spring.domain.sales.SalesRollupRepository;
+import sample.cafekiosk.spring.domain.sales.SalesRollupUnit;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 날에 걸친 매출 통계
+ * 기간을 일/주 단위 구간으로 나누고, 구간마다 별도의 읽기 전용 트랜잭션에서 집계 쿼리를 병렬로 실행한 뒤 합친다.
+ * 지난 날짜는 일별 매출 집계(sales_rollup) 행을 읽고, 집계 행이 없는 날짜와 오늘만 주문 테이블에서 계산한다.
+ * 동시에 실행되는 쿼리 수는 스레드 수(cafekiosk.order.statistics.parallelism)로 제한되므로 커넥션 풀보다 작게 잡아야 한다.
+ * 요청마다 마감 시각(cafekiosk.order.statistics.timeout-seconds)이 있고, 남은 시간을 트랜잭션 timeout으로 걸어서
+ * 응답을 포기한 구간의 쿼리도 DB에서 마감 시각에 중단되도록 한다. (future.cancel은 실행 중인 JDBC 쿼리를 멈추지 못함)
+ */
+@Service
+public class OrderRangeStatisticsService {
+
+    private static final long MAX_DAYS = 366;
+    private static final String TIMEOUT_MESSAGE = "매출 통계 조회 시간이 초과되었습니다.";
+
+    private final OrderRepository orderRepository;
+    private final SalesRollupRepository salesRollupRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final Duration timeout;
+    private final ExecutorService executor;
+
+    public OrderRangeStatisticsService(OrderRepository orderRepository,
+                                       SalesRollupRepository salesRollupRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${cafekiosk.order.statistics.parallelism:4}") int parallelism,
+                                       @Value("${cafekiosk.order.statistics.timeout-seconds:10}") long timeoutSeconds) {
+        this.orderRepository = orderRepository;
+        this.salesRollupRepository = salesRollupRepository;
+        this.transactionManager = transactionManager;
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        this.executor = Executors.newFixedThreadPool(parallelism, new StatisticsThreadFactory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    //[from, to] 기간, 두 날짜 모두 포함
+    public OrderSalesStatisticsResponse getSalesStatistics(LocalDate from, LocalDate to, SalesPartitionUnit unit) {
+        validateRange(from, to);
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        LocalDate today = LocalDate.now();
+
+        List<CompletableFuture<OrderSalesStatisticsResponse.Partition>> futures = split(from, to, unit).stream()
+            .map(range -> CompletableFuture.supplyAsync(() -> aggregate(range[0], range[1], today, deadlineNanos), executor))
+            .collect(Collectors.toList());
+
+        List<OrderSalesStatisticsResponse.Partition> partitions = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<OrderSalesStatisticsResponse.Partition> future : futures) {
+                partitions.add(future.get(Math.max(deadlineNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new QueryTimeoutException(TIMEOUT_MESSAGE, e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof TransactionTimedOutException) {
+                throw new QueryTimeoutException(TIMEOUT_MESSAGE, e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException(TIMEOUT_MESSAGE, e);
+        }
+        return new OrderSalesStatisticsResponse(from, to, partitions);
+    }
+
+    private OrderSalesStatisticsResponse.Partition aggregate(LocalDate from, LocalDate to, LocalDate today, long deadlineNanos) {
+        return readOnlyTransaction(deadlineNanos).execute(status -> sumSales(from, to, today));
+    }
+
+    //[from, to] 매출 합계, 오늘 집계 행은 아직 반영 중일 수 있으므로 끝난 날짜의 행만 사용
+    private OrderSalesStatisticsResponse.Partition sumSales(LocalDate from, LocalDate to, LocalDate today) {
+        Map<LocalDate, SalesRollup> dailyRollups = salesRollupRepository.findAllBy(
+                SalesRollupUnit.DAY, from.atStartOfDay(), to.plusDays(1).atStartOfDay()).stream()
+            .filter(rollup -> rollup.getPeriodStart().toLocalDate().isBefore(today))
+            .collect(Collectors.toMap(rollup -> rollup.getPeriodStart().toLocalDate(), rollup -> rollup));
+
+        long orderCount = 0;
+        long totalAmount = 0;
+        for (SalesRollup rollup : dailyRollups.values()) {
+            orderCount += rollup.getOrderCount();
+            totalAmount += rollup.getTotalAmount();
+        }
+
+        //집계 행이 없는 날짜가 이어지는 구간마다 주문 테이블을 한 번씩 조회
+        LocalDate scanStart = null;
+        for (LocalDate date = from; !date.isAfter(to.plusDays(1)); date = date.plusDays(1)) {
+            boolean covered = date.isAfter(to) || dailyRollups.containsKey(date);
+            if (!covered && scanStart == null) {
+                scanStart = date;
+            } else if (covered && scanStart != null) {
+                for (OrderHourlySales sales : orderRepository.findHourlySalesBy(
+                        scanStart.atStartOfDay(), date.atStartOfDay(), OrderStatus.PAYMENT_COMPLETED)) {
+                    orderCount += sales.getOrderCount();
+                    totalAmount += sales.getTotalAmount();
+                }
+                scanStart = null;
+            }
+        }
+        return new OrderSalesStatisticsResponse.Partition(from, to, orderCount, totalAmount);
+    }
+
+    //남은 시간을 트랜잭션 timeout으로 지정, 트랜잭션 안의 쿼리마다 남은 시간이 쿼리 timeout으로 걸림
+    private TransactionTemplate readOnlyTransaction(long deadlineNanos) {
+        long remainingNanos = deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw new QueryTimeoutException(TIMEOUT_MESSAGE);
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos)));
+        return transaction;
+    }
+
+    //구간마다 [시작일, 종료일], 첫 구간과 마지막 구간은 기간에 맞춰 잘림
+    private static List<LocalDate[]> split(LocalDate from, LocalDate to, SalesPartitionUnit unit) {
+        List<LocalDate[]> ranges = new ArrayList<>();
+        LocalDate start = from;
+        while (!start.isAfter(to)) {
+            LocalDate nextStart = unit.nextStartOf(start);
+            LocalDate end = nextStart.minusDays(1).isAfter(to) ? to : nextStart.minusDays(1);
+            ranges.add(new LocalDate[]{start, end});
+            start = nextStart;
+        }
+        return ranges;
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작일은 종료일보다 늦을 수 없습니다.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_DAYS) {
+            throw new IllegalArgumentException("조회 기간은 최대 366일입니다.");
+        }
+    }
+
+    private static class StatisticsThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "order-statistics-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
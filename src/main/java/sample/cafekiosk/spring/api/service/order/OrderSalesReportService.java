@@ -0,0 +1,93 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import sample.cafekiosk.spring.api.service.order.response.OrderSalesReportResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderSalesLine;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.support.collection.LongKeyCounter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 기간 내 결제완료 주문의 상품별, 시간대별 매출 리포트
+ * 주문 상품을 한 줄씩 흘려보내며 상품 id별 카운터와 24칸 배열에 누적하므로, 주문 수가 늘어도 메모리 사용량은 상품 수에만 비례한다.
+ */
+@RequiredArgsConstructor
+@Service
+public class OrderSalesReportService {
+
+    private static final int HOURS_OF_DAY = 24;
+
+    private final OrderProductRepository orderProductRepository;
+    private final ProductRepository productRepository;
+
+    //[from, to] 기간, 두 날짜 모두 포함
+    @Transactional(readOnly = true)
+    public OrderSalesReportResponse getSalesReport(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작일은 종료일보다 늦을 수 없습니다.");
+        }
+
+        LongKeyCounter productCounter = new LongKeyCounter();
+        long[] hourlyQuantities = new long[HOURS_OF_DAY];
+        long[] hourlyAmounts = new long[HOURS_OF_DAY];
+
+        try (Stream<OrderSalesLine> lines = orderProductRepository.streamSalesLinesBy(
+            from.atStartOfDay(), to.plusDays(1).atStartOfDay(), OrderStatus.PAYMENT_COMPLETED)) {
+            lines.forEach(line -> {
+                long amount = line.calculateAmount();
+                productCounter.add(line.getProductId(), line.getQuantity(), amount);
+                hourlyQuantities[line.getHour()] += line.getQuantity();
+                hourlyAmounts[line.getHour()] += amount;
+            });
+        }
+
+        return OrderSalesReportResponse.builder()
+            .from(from)
+            .to(to)
+            .totalQuantity(Arrays.stream(hourlyQuantities).sum())
+            .totalAmount(Arrays.stream(hourlyAmounts).sum())
+            .products(toProductSales(productCounter))
+            .hours(toHourlySales(hourlyQuantities, hourlyAmounts))
+            .build();
+    }
+
+    //상품 정보는 집계가 끝난 뒤 상품 id로 한 번에 조회, 매출이 큰 순서로 정렬
+    private List<OrderSalesReportResponse.ProductSales> toProductSales(LongKeyCounter productCounter) {
+        List<Long> productIds = Arrays.stream(productCounter.keys()).boxed().collect(Collectors.toList());
+        Map<Long, Product> productMap = productRepository.findAllById(productIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<OrderSalesReportResponse.ProductSales> productSales = new ArrayList<>(productCounter.size());
+        productCounter.forEach((productId, quantity, amount) -> {
+            Product product = productMap.get(productId);
+            productSales.add(new OrderSalesReportResponse.ProductSales(
+                product.getProductNumber(), product.getName(), quantity, amount));
+        });
+        productSales.sort(Comparator.comparingLong(OrderSalesReportResponse.ProductSales::getAmount).reversed()
+            .thenComparing(OrderSalesReportResponse.ProductSales::getProductNumber));
+        return productSales;
+    }
+
+    private static List<OrderSalesReportResponse.HourlySales> toHourlySales(long[] quantities, long[] amounts) {
+        List<OrderSalesReportResponse.HourlySales> hourlySales = new ArrayList<>(HOURS_OF_DAY);
+        for (int hour = 0; hour < HOURS_OF_DAY; hour++) {
+            hourlySales.add(new OrderSalesReportResponse.HourlySales(hour, quantities[hour], amounts[hour]));
+        }
+        return hourlySales;
+    }
+
+}
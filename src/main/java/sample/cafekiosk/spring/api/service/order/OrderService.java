@@ -1,22 +1,34 @@
 package sample.cafekiosk.spring.api.service.order;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductNearCache;
+import sample.cafekiosk.spring.api.service.stock.StockLedger;
+import sample.cafekiosk.spring.api.service.stock.StockReservationService;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
-import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSnapshot;
 import sample.cafekiosk.spring.domain.product.ProductType;
 import sample.cafekiosk.spring.domain.stock.Stock;
 import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Transactional
@@ -24,61 +36,217 @@ import java.util.stream.Collectors;
 @Service
 public class OrderService {
 
+    private final ProductNearCache productNearCache;
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
     private final StockRepository stockRepository;
+    private final StockLedger stockLedger;
+    private final StockReservationService stockReservationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
         List<String> productNumbers = request.getProductNumbers();
-        List<Product> products = findProductsBy(productNumbers);
+        List<ProductSnapshot> products = findProductsBy(productNumbers);
 
         deductStockQuantities(products);
 
-        Order order = Order.create(products, registeredDateTime);
+        Order order = Order.create(products, productRepository::getReferenceById, registeredDateTime);
         Order savedOrder = orderRepository.save(order);
-        return OrderResponse.of(savedOrder);
+        stockReservationService.hold(savedOrder);
+        eventPublisher.publishEvent(new OrderCreatedEvent(productNumbers));
+        return OrderResponse.of(savedOrder, products);
     }
 
-    private void deductStockQuantities(List<Product> products) {
-        //product number 뽑기
-        List<String> stockProductNumbers = extractStockProductNumbers(products);
+    //결제가 완료되면 잡아둔 재고를 확정
+    public OrderResponse completePayment(Long orderId) {
+        Order order = findOrderBy(orderId);
+        order.completePayment();
+        flushOrderStatus(order);
+        stockReservationService.confirm(order);
+        eventPublisher.publishEvent(OrderPaymentCompletedEvent.of(order));
+        return OrderResponse.of(order);
+    }
+
+    public OrderResponse failPayment(Long orderId) {
+        Order order = findOrderBy(orderId);
+        order.failPayment();
+        flushOrderStatus(order);
+        stockReservationService.release(List.of(order));
+        return OrderResponse.of(order);
+    }
+
+    public OrderResponse cancelOrder(Long orderId) {
+        Order order = findOrderBy(orderId);
+        order.cancel();
+        flushOrderStatus(order);
+        stockReservationService.release(List.of(order));
+        return OrderResponse.of(order);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderResponse getOrder(Long orderId) {
+        return OrderResponse.of(findOrderBy(orderId));
+    }
+
+    //주문 수와 관계없이 조회 쿼리 한 번으로 응답을 만듦, 요청한 주문 순서를 유지
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrders(List<Long> orderIds) {
+        Map<Long, Order> orderMap = orderRepository.findAllWithProductsByIdIn(orderIds).stream()
+            .collect(Collectors.toMap(Order::getId, o -> o));
+
+        return orderIds.stream()
+            .map(orderMap::get)
+            .filter(Objects::nonNull)
+            .map(OrderResponse::of)
+            .collect(Collectors.toList());
+    }
 
+    //여러 주문을 한 트랜잭션에서 처리, 상품/재고 조회는 전체 주문에 대해 한 번씩만 수행
+    //주문 단위로 성공/실패를 기록하고 실패한 주문은 재고를 차감하지 않음
+    public List<OrderBatchResponse> createOrders(List<OrderCreateServiceRequest> requests, LocalDateTime registeredDateTime) {
+        return createOrders(requests, Collections.nCopies(requests.size(), registeredDateTime));
+    }
+
+    //주문마다 등록 시간이 다른 경우(주문 수집 파이프라인에서 모아 처리할 때) 사용
+    public List<OrderBatchResponse> createOrders(List<OrderCreateServiceRequest> requests, List<LocalDateTime> registeredDateTimes) {
+        List<String> allProductNumbers = requests.stream()
+            .flatMap(request -> request.getProductNumbers().stream())
+            .distinct()
+            .collect(Collectors.toList());
+
+        Map<String, ProductSnapshot> productMap = createProductMapBy(allProductNumbers);
+        Map<String, Integer> remainingQuantityMap = lockRemainingQuantityMapBy(extractStockProductNumbers(productMap.values()));
+        Map<String, Long> deductionCountingMap = new HashMap<>();
+
+        OrderBatchResponse[] responses = new OrderBatchResponse[requests.size()];
+        List<Integer> orderIndexes = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+
+        for (int index = 0; index < requests.size(); index++) {
+            List<String> productNumbers = requests.get(index).getProductNumbers();
+            if (!productMap.keySet().containsAll(productNumbers)) {
+                responses[index] = OrderBatchResponse.fail(index, "존재하지 않는 상품이 있습니다.");
+                continue;
+            }
 
-        Map<String, Stock> stockMap = createStockMapBy(stockProductNumbers);
+            List<ProductSnapshot> products = productNumbers.stream()
+                .map(productMap::get)
+                .collect(Collectors.toList());
+            Map<String, Long> productCountingMap = createCountingMapBy(extractStockProductNumbers(products));
+
+            if (!tryReserveStock(remainingQuantityMap, productCountingMap)) {
+                responses[index] = OrderBatchResponse.fail(index, "재고가 부족한 상품이 있습니다.");
+                continue;
+            }
+            productCountingMap.forEach((stockProductNumber, quantity) ->
+                deductionCountingMap.merge(stockProductNumber, quantity, Long::sum));
+
+            orderIndexes.add(index);
+            orders.add(Order.create(products, productRepository::getReferenceById, registeredDateTimes.get(index)));
+        }
+
+        //재고 row를 잠근 채로 남은 수량을 계산했으므로 조건부 update는 실패하지 않음
+        if (!stockLedger.isEnabled()) {
+            deductStockQuantities(deductionCountingMap);
+        }
+
+        List<Order> savedOrders = orderRepository.saveAll(orders);
+        savedOrders.forEach(stockReservationService::hold);
+        for (int i = 0; i < savedOrders.size(); i++) {
+            int index = orderIndexes.get(i);
+            responses[index] = OrderBatchResponse.success(index, OrderResponse.of(savedOrders.get(i), productMap.values()));
+            eventPublisher.publishEvent(new OrderCreatedEvent(requests.get(index).getProductNumbers()));
+        }
+        return Arrays.asList(responses);
+    }
+
+    //주문 하나에 필요한 재고를 잡아둠, 부족하면 아무것도 잡지 않고 false
+    //재고 원장을 쓰는 경우 원장에서 바로 차감하고, 아니면 잠가둔 재고 수량에서 빼둔 뒤 마지막에 한 번에 차감
+    private boolean tryReserveStock(Map<String, Integer> remainingQuantityMap, Map<String, Long> productCountingMap) {
+        if (stockLedger.isEnabled()) {
+            try {
+                stockLedger.reserve(productCountingMap);
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        if (hasStockShortage(remainingQuantityMap, productCountingMap)) {
+            return false;
+        }
+        productCountingMap.forEach((stockProductNumber, quantity) ->
+            remainingQuantityMap.merge(stockProductNumber, -quantity.intValue(), Integer::sum));
+        return true;
+    }
+
+    private void deductStockQuantities(List<ProductSnapshot> products) {
+        //product number 뽑기
+        List<String> stockProductNumbers = extractStockProductNumbers(products);
         Map<String, Long> productCountingMap = createCountingMapBy(stockProductNumbers);
 
-        for (String stockProductNumber : new HashSet<>(stockProductNumbers)) {
-            Stock stock = stockMap.get(stockProductNumber);
-            int quantity = productCountingMap.get(stockProductNumber).intValue();
+        deductStockQuantities(productCountingMap);
+    }
 
-            if (stock.isQuantityLessThan(quantity)) {
+    //엔티티를 읽어 수정하는 대신 조건부 update 한 번으로 차감 -> 동시 주문에서도 갱신 손실이 없음
+    //상품번호 순서로 차감해서 같은 상품들을 주문하는 트랜잭션끼리 row lock 순서가 엇갈리지 않도록 함
+    private void deductStockQuantities(Map<String, Long> productCountingMap) {
+        //재고 원장을 쓰는 경우 DB를 거치지 않고 메모리에서 차감, DB 반영은 원장이 모아서 처리
+        if (stockLedger.isEnabled()) {
+            stockLedger.reserve(productCountingMap);
+            return;
+        }
+
+        new TreeMap<>(productCountingMap).forEach((stockProductNumber, quantity) -> {
+            int updatedCount = stockRepository.deductQuantity(stockProductNumber, quantity.intValue());
+            if (updatedCount == 0) {
                 throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
             }
-            stock.deductQuantity(quantity);
+        });
+    }
+
+    //결제 대기 만료가 먼저 주문을 취소했다면 버전이 달라져 여기서 실패함
+    private void flushOrderStatus(Order order) {
+        try {
+            orderRepository.saveAndFlush(order);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new IllegalArgumentException("결제 대기 중인 주문이 아닙니다.");
         }
     }
 
-    private List<Product> findProductsBy(List<String> productNumbers) {
-        List<Product> products = productRepository.findAllByProductNumberIn(productNumbers);
-        Map<String, Product> productMap = products.stream()
-            .collect(Collectors.toMap(Product::getProductNumber, p -> p));
+    private Order findOrderBy(Long orderId) {
+        return orderRepository.findWithProductsById(orderId)
+            .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+    }
+
+    private List<ProductSnapshot> findProductsBy(List<String> productNumbers) {
+        Map<String, ProductSnapshot> productMap = createProductMapBy(productNumbers);
 
         return productNumbers.stream()
             .map(productMap::get)
             .collect(Collectors.toList());
     }
 
-    private static List<String> extractStockProductNumbers(List<Product> products) {
+    private Map<String, ProductSnapshot> createProductMapBy(List<String> productNumbers) {
+        return productNearCache.findAllByProductNumberIn(productNumbers);
+    }
+
+    private static List<String> extractStockProductNumbers(Collection<ProductSnapshot> products) {
         return products.stream()
             .filter(product -> ProductType.containsStockType(product.getType()))
-            .map(Product::getProductNumber)
+            .map(ProductSnapshot::getProductNumber)
             .collect(Collectors.toList());
     }
 
-    private Map<String, Stock>  createStockMapBy(List<String> stockProductNumbers) {
-        List<Stock> stocks = stockRepository.findAllByProductNumberIn(stockProductNumbers);
+    //배치가 끝날 때까지 다른 주문이 같은 재고를 가져가지 못하도록 재고 row를 잠그고 읽음
+    private Map<String, Integer> lockRemainingQuantityMapBy(List<String> stockProductNumbers) {
+        if (stockLedger.isEnabled() || stockProductNumbers.isEmpty()) {
+            return new HashMap<>();
+        }
+
+        List<Stock> stocks = stockRepository.findAllForUpdateByProductNumberIn(stockProductNumbers);
         return stocks.stream()
-            .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
+            .collect(Collectors.toMap(Stock::getProductNumber, Stock::getQuantity));
     }
 
     private static Map<String, Long> createCountingMapBy(List<String> stockProductNumbers) {
@@ -86,4 +254,12 @@ public class OrderService {
             .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
     }
 
+    private static boolean hasStockShortage(Map<String, Integer> remainingQuantityMap, Map<String, Long> productCountingMap) {
+        return productCountingMap.entrySet().stream()
+            .anyMatch(entry -> {
+                Integer remainingQuantity = remainingQuantityMap.get(entry.getKey());
+                return remainingQuantity == null || remainingQuantity < entry.getValue();
+            });
+    }
+
 }
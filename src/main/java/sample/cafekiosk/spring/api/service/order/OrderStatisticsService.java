@@ -3,47 +3,47 @@ package sample.cafekiosk.spring.api.service.order;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import sample.cafekiosk.spring.api.service.mail.MailService;
-import sample.cafekiosk.spring.domain.order.Order;
-import sample.cafekiosk.spring.domain.order.OrderRepository;
-import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @Service
 public class OrderStatisticsService {
 
-    private final OrderRepository orderRepository;
+    private final SalesRollupService salesRollupService;
     private final MailService mailService;
 
-    //메일전송의 로직의 경우 Transaction을 안거는 것이 좋음
-    //긴 네트워크를 타거나 작업 소요 시간이 긴데 트랜잭션이 필요없는 경우 안거는 것이 좋음
-    public boolean sendOrderStatisticsMail(LocalDate orderDate, String email){
-        //해당 일자에 결제완료된 주문들을 가져와서 총 매출합계를 계산하고 메일전송
-        List<Order> orders = orderRepository.findOrdersBy(
-                //주문 일시로 조회
-                orderDate.atStartOfDay(),
-                orderDate.plusDays(1).atStartOfDay(),
-                OrderStatus.PAYMENT_COMPLETED
-                );
-
-        //총 매출합계를 계산
-        int totalAmount = orders.stream()
-                .mapToInt(Order::getTotalPrice)
-                .sum();
-
-        //메일 전송
-        //직접 구현은 아니고 비슷하게
-        boolean result = mailService.sendMail(
+    //메일은 outbox에 저장만 하고 실제 전송은 MailOutboxDispatcher가 하므로, 전송 결과 대신 outbox id를 반환
+    public Long sendOrderStatisticsMail(LocalDate orderDate, String email){
+        //해당 일자의 결제완료 매출합계를 일별 집계에서 읽어오고 메일전송
+        long totalAmount = salesRollupService.getDailyTotalAmount(orderDate);
+
+        return mailService.sendMail(
                 "no-reply@ciosk.com",
                 email,
-                String.format("[매출통계] %s", orderDate),
-                String.format("총 매출 합계는 %s 원입니다.", totalAmount));
+                createSubject(orderDate),
+                createContent(totalAmount));
+    }
+
+    //매출 합계와 메일 본문은 한 번만 만들고 모든 수신자에게 같은 메일을 보냄
+    //수신자별 outbox id를 반환, 수신자별 전송 결과는 outbox와 메일 전송 히스토리에 남음
+    public Map<String, Long> sendOrderStatisticsMail(LocalDate orderDate, List<String> emails){
+        long totalAmount = salesRollupService.getDailyTotalAmount(orderDate);
+
+        return mailService.sendMails(
+                "no-reply@ciosk.com",
+                emails,
+                createSubject(orderDate),
+                createContent(totalAmount));
+    }
+
+    private String createSubject(LocalDate orderDate) {
+        return String.format("[매출통계] %s", orderDate);
+    }
 
-        if(!result){
-            throw new IllegalArgumentException("매출 통계 메일 전송에 실패했습니다.");
-        }
-        return true;
+    private String createContent(long totalAmount) {
+        return String.format("총 매출 합계는 %s 원입니다.", totalAmount);
     }
 }
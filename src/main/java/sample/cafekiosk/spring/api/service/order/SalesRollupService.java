@@ -0,0 +1,136 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.OrderHourlySales;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.sales.SalesRollup;
+import sample.cafekiosk.spring.domain.sales.SalesRollupRepository;
+import sample.cafekiosk.spring.domain.sales.SalesRollupUnit;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 결제완료 주문의 일별/시간별 매출 집계(sales_rollup)를 관리
+ * 결제 트랜잭션이 커밋된 뒤 별도 트랜잭션에서 집계 행에 더하므로, 결제가 집계 행의 잠금을 기다리지 않는다.
+ * 커밋 직후 장애로 빠진 반영분은 다음날 재집계(rebuild)로 맞춰진다.
+ * 재집계는 주문 합계를 읽은 뒤 집계 행을 바꿔치기하므로, 그 사이에 들어온 반영분을 잃지 않도록
+ * 결제가 더 들어올 수 없는 날짜(하루가 끝나고 rebuildDelay가 지난 날짜)만 다시 만든다.
+ */
+@Slf4j
+@Service
+public class SalesRollupService {
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration rebuildDelay;
+
+    public SalesRollupService(SalesRollupRepository salesRollupRepository,
+                              OrderRepository orderRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${cafekiosk.sales.rollup.rebuild-delay-minutes:60}") long rebuildDelayMinutes) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.orderRepository = orderRepository;
+        this.rebuildDelay = Duration.ofMinutes(rebuildDelayMinutes);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    //결제는 이미 커밋되었으므로 집계 반영에 실패해도 예외를 밖으로 던지지 않음
+    @TransactionalEventListener
+    public void record(OrderPaymentCompletedEvent event) {
+        try {
+            increaseWithRetry(event);
+        } catch (RuntimeException e) {
+            log.error("매출 집계 반영 실패 : orderId={}", event.getOrderId(), e);
+        }
+    }
+
+    //집계 행이 있으면 한 행만 읽음, 집계를 시작하기 전의 날짜는 주문 테이블에서 합계를 계산
+    public long getDailyTotalAmount(LocalDate date) {
+        return salesRollupRepository.findByUnitAndPeriodStart(SalesRollupUnit.DAY, date.atStartOfDay())
+            .map(SalesRollup::getTotalAmount)
+            .orElseGet(() -> orderRepository.sumTotalPriceBy(
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay(), OrderStatus.PAYMENT_COMPLETED));
+    }
+
+    //[from, to] 기간의 집계를 주문 테이블 기준으로 날짜마다 다시 만듦, 과거 날짜 채우기나 누락 보정에 사용
+    public void rebuild(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("시작일은 종료일보다 늦을 수 없습니다.");
+        }
+        //오늘이나 방금 끝난 날짜는 결제 반영이 아직 들어오므로 다시 만들면 그 사이 반영분을 덮어쓸 수 있음
+        if (to.plusDays(1).atStartOfDay().plus(rebuildDelay).isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("아직 결제가 반영될 수 있는 날짜의 집계는 다시 만들 수 없습니다.");
+        }
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            rebuild(date);
+        }
+    }
+
+    //전날 집계를 매일 다시 맞춤
+    @Scheduled(cron = "${cafekiosk.sales.rollup.rebuild-cron:0 10 1 * * *}")
+    public void rebuildYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuild(yesterday, yesterday);
+        log.info("매출 집계 재계산 완료 : {}", yesterday);
+    }
+
+    private void rebuild(LocalDate date) {
+        LocalDateTime startDateTime = date.atStartOfDay();
+        LocalDateTime endDateTime = date.plusDays(1).atStartOfDay();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<OrderHourlySales> hourlySales = orderRepository.findHourlySalesBy(
+                startDateTime, endDateTime, OrderStatus.PAYMENT_COMPLETED);
+            salesRollupRepository.deleteAllByPeriodStartBetween(startDateTime, endDateTime);
+
+            long orderCount = 0;
+            long totalAmount = 0;
+            for (OrderHourlySales sales : hourlySales) {
+                salesRollupRepository.save(SalesRollup.create(SalesRollupUnit.HOUR,
+                    startDateTime.plusHours(sales.getHour()), sales.getOrderCount(), sales.getTotalAmount()));
+                orderCount += sales.getOrderCount();
+                totalAmount += sales.getTotalAmount();
+            }
+            salesRollupRepository.save(SalesRollup.create(SalesRollupUnit.DAY, startDateTime, orderCount, totalAmount));
+        });
+    }
+
+    private void increaseWithRetry(OrderPaymentCompletedEvent event) {
+        try {
+            increaseInNewTransaction(event);
+        } catch (DataIntegrityViolationException e) {
+            //다른 요청이 같은 구간의 첫 행을 먼저 만든 경우 한 번 더 시도
+            increaseInNewTransaction(event);
+        }
+    }
+
+    private void increaseInNewTransaction(OrderPaymentCompletedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> {
+            increase(SalesRollupUnit.DAY, event);
+            increase(SalesRollupUnit.HOUR, event);
+        });
+    }
+
+    private void increase(SalesRollupUnit unit, OrderPaymentCompletedEvent event) {
+        LocalDateTime periodStart = unit.periodStartOf(event.getRegisteredDateTime());
+        int updated = salesRollupRepository.increase(unit, periodStart, event.getTotalPrice());
+        if (updated == 0) {
+            salesRollupRepository.saveAndFlush(SalesRollup.create(unit, periodStart, 1, event.getTotalPrice()));
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 일정 시간 간격의 버킷을 고리 모양으로 재사용하는 카운터
+ * 버킷 칸은 (시각 / 간격) % 버킷 수로 정하고, 칸에 남아 있는 버킷이 지난 구간이면 CAS로 새 버킷으로 바꿔 끼운다.
+ * 기록과 조회 모두 잠금 없이 동작하며, 조회 비용은 버킷 수에 비례한다.
+ */
+public class TimeBucketRing {
+
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public TimeBucketRing(long bucketMillis, int bucketCount) {
+        if (bucketMillis <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("버킷 간격과 개수는 양수여야 합니다.");
+        }
+        this.bucketMillis = bucketMillis;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    public void add(long nowMillis, long orderCount, long amount, long itemCount) {
+        Bucket bucket = bucketOf(nowMillis / bucketMillis);
+        if (bucket == null) {
+            return;
+        }
+        bucket.orderCount.add(orderCount);
+        bucket.amount.add(amount);
+        bucket.itemCount.add(itemCount);
+    }
+
+    //현재 버킷을 포함해 최근 bucketCount개 구간의 합계
+    public Totals sum(long nowMillis, int bucketCount) {
+        if (bucketCount <= 0 || bucketCount > buckets.length()) {
+            throw new IllegalArgumentException("조회할 버킷 개수가 범위를 벗어났습니다.");
+        }
+        long currentEpoch = nowMillis / bucketMillis;
+        long oldestEpoch = currentEpoch - bucketCount + 1;
+
+        long orderCount = 0;
+        long amount = 0;
+        long itemCount = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch >= oldestEpoch && bucket.epoch <= currentEpoch) {
+                orderCount += bucket.orderCount.sum();
+                amount += bucket.amount.sum();
+                itemCount += bucket.itemCount.sum();
+            }
+        }
+        return new Totals(orderCount, amount, itemCount);
+    }
+
+    //칸에 이미 더 최근 구간의 버킷이 있으면(한 바퀴 이상 늦게 도착한 기록) null
+    private Bucket bucketOf(long epoch) {
+        int index = (int) Math.floorMod(epoch, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.epoch == epoch) {
+                return bucket;
+            }
+            if (bucket != null && bucket.epoch > epoch) {
+                return null;
+            }
+            Bucket fresh = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static class Bucket {
+        private final long epoch;
+        private final LongAdder orderCount = new LongAdder();
+        private final LongAdder amount = new LongAdder();
+        private final LongAdder itemCount = new LongAdder();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    @Getter
+    public static class Totals {
+        private final long orderCount;
+        private final long amount;
+        private final long itemCount;
+
+        public Totals(long orderCount, long amount, long itemCount) {
+            this.orderCount = orderCount;
+            this.amount = amount;
+            this.itemCount = itemCount;
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+@Getter
+@RequiredArgsConstructor
+public enum SalesPartitionUnit {
+
+    DAY("일별"),
+    WEEK("주별");
+
+    private final String text;
+
+    //date가 속한 구간의 다음 구간 시작일, 주별은 월요일부터 시작
+    public LocalDate nextStartOf(LocalDate date) {
+        return this == DAY
+            ? date.plusDays(1)
+            : date.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+}
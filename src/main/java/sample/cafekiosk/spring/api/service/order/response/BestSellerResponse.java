@@ -0,0 +1,16 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Getter;
+
+@Getter
+public class BestSellerResponse {
+
+    private final String productNumber;
+    private final long estimatedQuantity;
+
+    public BestSellerResponse(String productNumber, long estimatedQuantity) {
+        this.productNumber = productNumber;
+        this.estimatedQuantity = estimatedQuantity;
+    }
+
+}
@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class LiveSalesResponse {
+
+    private final List<Window> windows;
+
+    public LiveSalesResponse(List<Window> windows) {
+        this.windows = windows;
+    }
+
+    @Getter
+    public static class Window {
+        private final String name;
+        private final long seconds;
+        private final long orderCount;
+        private final long revenue;
+        private final long itemCount;
+        private final double itemsPerSecond;
+
+        public Window(String name, long seconds, long orderCount, long revenue, long itemCount) {
+            this.name = name;
+            this.seconds = seconds;
+            this.orderCount = orderCount;
+            this.revenue = revenue;
+            this.itemCount = itemCount;
+            this.itemsPerSecond = (double) itemCount / seconds;
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class OrderBatchResponse {
+
+    private int index;
+    private boolean success;
+    private OrderResponse order;
+    private String failureMessage;
+
+    @Builder
+    private OrderBatchResponse(int index, boolean success, OrderResponse order, String failureMessage) {
+        this.index = index;
+        this.success = success;
+        this.order = order;
+        this.failureMessage = failureMessage;
+    }
+
+    public static OrderBatchResponse success(int index, OrderResponse order) {
+        return OrderBatchResponse.builder()
+                .index(index)
+                .success(true)
+                .order(order)
+                .build();
+    }
+
+    public static OrderBatchResponse fail(int index, String failureMessage) {
+        return OrderBatchResponse.builder()
+                .index(index)
+                .success(false)
+                .failureMessage(failureMessage)
+                .build();
+    }
+
+}
@@ -4,9 +4,14 @@ import lombok.Builder;
 import lombok.Getter;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.product.ProductSnapshot;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Getter
@@ -30,8 +35,28 @@ public class OrderResponse {
                 .id(order.getId())
                 .totalPrice(order.getTotalPrice())
                 .registeredDateTime(order.getRegisteredDateTime())
+                //주문 상품은 수량으로 묶여 저장되지만 응답은 기존처럼 담은 개수만큼 상품을 내려줌
                 .products(order.getOrderProducts().stream()
-                        .map(orderProduct -> ProductResponse.of(orderProduct.getProduct()))
+                        .flatMap(orderProduct -> Collections.nCopies(
+                                orderProduct.getQuantity(), ProductResponse.of(orderProduct.getProduct())).stream())
+                        .collect(Collectors.toList())
+                )
+                .build();
+    }
+
+    //방금 만든 주문의 상품은 로딩되지 않은 프록시이므로 주문에 쓴 상품 값으로 응답을 만듦
+    public static OrderResponse of(Order order, Collection<ProductSnapshot> products) {
+        Map<Long, ProductSnapshot> productMap = products.stream()
+                .collect(Collectors.toMap(ProductSnapshot::getId, Function.identity(), (first, second) -> first));
+
+        return OrderResponse.builder()
+                .id(order.getId())
+                .totalPrice(order.getTotalPrice())
+                .registeredDateTime(order.getRegisteredDateTime())
+                .products(order.getOrderProducts().stream()
+                        .flatMap(orderProduct -> Collections.nCopies(
+                                orderProduct.getQuantity(),
+                                ProductResponse.of(productMap.get(orderProduct.getProduct().getId()))).stream())
                         .collect(Collectors.toList())
                 )
                 .build();
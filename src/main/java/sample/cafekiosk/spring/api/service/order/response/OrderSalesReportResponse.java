@@ -0,0 +1,58 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+public class OrderSalesReportResponse {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long totalQuantity;
+    private final long totalAmount;
+    private final List<ProductSales> products;
+    private final List<HourlySales> hours;
+
+    @Builder
+    private OrderSalesReportResponse(LocalDate from, LocalDate to, long totalQuantity, long totalAmount,
+                                     List<ProductSales> products, List<HourlySales> hours) {
+        this.from = from;
+        this.to = to;
+        this.totalQuantity = totalQuantity;
+        this.totalAmount = totalAmount;
+        this.products = products;
+        this.hours = hours;
+    }
+
+    @Getter
+    public static class ProductSales {
+        private final String productNumber;
+        private final String name;
+        private final long quantity;
+        private final long amount;
+
+        public ProductSales(String productNumber, String name, long quantity, long amount) {
+            this.productNumber = productNumber;
+            this.name = name;
+            this.quantity = quantity;
+            this.amount = amount;
+        }
+    }
+
+    @Getter
+    public static class HourlySales {
+        private final int hour;
+        private final long quantity;
+        private final long amount;
+
+        public HourlySales(int hour, long quantity, long amount) {
+            this.hour = hour;
+            this.quantity = quantity;
+            this.amount = amount;
+        }
+    }
+
+}
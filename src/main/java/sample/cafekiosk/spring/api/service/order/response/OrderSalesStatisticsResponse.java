@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+public class OrderSalesStatisticsResponse {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long orderCount;
+    private final long totalAmount;
+    private final List<Partition> partitions;
+
+    public OrderSalesStatisticsResponse(LocalDate from, LocalDate to, List<Partition> partitions) {
+        this.from = from;
+        this.to = to;
+        this.orderCount = partitions.stream().mapToLong(Partition::getOrderCount).sum();
+        this.totalAmount = partitions.stream().mapToLong(Partition::getTotalAmount).sum();
+        this.partitions = partitions;
+    }
+
+    //[from, to] 구간, 두 날짜 모두 포함
+    @Getter
+    public static class Partition {
+        private final LocalDate from;
+        private final LocalDate to;
+        private final long orderCount;
+        private final long totalAmount;
+
+        public Partition(LocalDate from, LocalDate to, long orderCount, long totalAmount) {
+            this.from = from;
+            this.to = to;
+            this.orderCount = orderCount;
+            this.totalAmount = totalAmount;
+        }
+    }
+
+}
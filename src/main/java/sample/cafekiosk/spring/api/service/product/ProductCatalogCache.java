@@ -0,0 +1,85 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.api.ApiResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 판매 상품 목록 응답을 JSON(UTF-8) 바이트로 만들어 버전과 함께 보관
+ * 상품이 바뀌면 버전만 올리고, 다음 조회 때 한 번만 다시 만든다. 그 외의 조회는 DB와 직렬화를 거치지 않음
+ */
+@RequiredArgsConstructor
+@Component
+public class ProductCatalogCache {
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+
+    //재시작 후에도 이전 ETag와 겹치지 않도록 시작 시각에서 출발
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    private volatile String eTag = toETag(version.get());
+    private volatile Snapshot snapshot;
+
+    //현재 버전의 ETag, 목록을 다시 만들지 않고 조건부 요청을 판단할 때 사용
+    public String getETag() {
+        return eTag;
+    }
+
+    public Snapshot getSellingProducts() {
+        Snapshot current = snapshot;
+        if (current != null && current.getVersion() == version.get()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void invalidate(ProductChangedEvent event) {
+        eTag = toETag(version.incrementAndGet());
+    }
+
+    //동시에 여러 요청이 와도 한 번만 다시 만듦, 만드는 도중 상품이 바뀌면 다음 조회 때 다시 만듦
+    private synchronized Snapshot rebuild() {
+        long targetVersion = version.get();
+        Snapshot current = snapshot;
+        if (current != null && current.getVersion() == targetVersion) {
+            return current;
+        }
+
+        Snapshot rebuilt = new Snapshot(targetVersion, serialize(ApiResponse.ok(productService.getSellingProducts())));
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private byte[] serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("판매 상품 목록을 직렬화할 수 없습니다.", e);
+        }
+    }
+
+    private static String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    @Getter
+    public static class Snapshot {
+        private final long version;
+        private final String eTag;
+        private final byte[] body;
+
+        public Snapshot(long version, byte[] body) {
+            this.version = version;
+            this.eTag = toETag(version);
+            this.body = body;
+        }
+    }
+
+}
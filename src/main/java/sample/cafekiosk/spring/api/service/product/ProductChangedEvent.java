@@ -0,0 +1,23 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+
+import java.util.List;
+
+//상품이 등록되거나 판매상태가 바뀌었을 때 발행, 상품을 캐시하는 쪽에서 커밋 이후에 받아 갱신
+//일괄 등록은 chunk 단위로 한 번만 발행
+@Getter
+public class ProductChangedEvent {
+
+    private final List<ProductResponse> products;
+
+    public ProductChangedEvent(List<ProductResponse> products) {
+        this.products = products;
+    }
+
+    public static ProductChangedEvent of(ProductResponse product) {
+        return new ProductChangedEvent(List.of(product));
+    }
+
+}
@@ -0,0 +1,171 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportFormat;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 파일(CSV/NDJSON)을 한 줄씩 읽어 검증하고, chunk 단위 트랜잭션에서 JDBC batch insert로 저장
+ * Product.id가 IDENTITY라 JPA로는 insert를 묶을 수 없어서 JdbcTemplate을 사용
+ */
+@Service
+public class ProductImportService {
+
+    private static final String INSERT_PRODUCT_SQL =
+        "insert into product (product_number, type, selling_status, name, price, created_date_time, modified_date_time) " +
+            "values (?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ProductNumberGenerator productNumberGenerator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ProductImportService(ProductNumberGenerator productNumberGenerator,
+                                JdbcTemplate jdbcTemplate,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${cafekiosk.product.import-chunk-size:1000}") int chunkSize) {
+        this.productNumberGenerator = productNumberGenerator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    //잘못된 행은 건너뛰고 행 번호와 사유를 기록, 이미 저장된 chunk는 뒤에서 실패해도 유지됨
+    //chunk 저장이 실패하면 거기서 멈추고, 그때까지 커밋된 행 수와 실패한 chunk의 행 범위를 돌려줌
+    public ProductImportResponse importProducts(BufferedReader reader, ProductImportFormat format) throws IOException {
+        List<ProductImportResponse.RowError> errors = new ArrayList<>();
+        List<Product> chunk = new ArrayList<>(chunkSize);
+        int successCount = 0;
+        int failureCount = 0;
+        int lineNumber = 0;
+        int chunkStartLineNumber = 0;
+        int chunkEndLineNumber = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || format.isHeader(lineNumber, line)) {
+                continue;
+            }
+
+            //형식 오류만 행 오류로 기록, 번호 발급이나 DB 오류는 그대로 던짐
+            ProductCreateServiceRequest request = null;
+            String errorMessage;
+            try {
+                request = format.parse(line, objectMapper);
+                errorMessage = validate(request);
+            } catch (IOException | IllegalArgumentException e) {
+                errorMessage = "잘못된 형식의 행입니다.";
+            }
+
+            if (errorMessage == null) {
+                chunk.add(request.toEntity(productNumberGenerator.next()));
+                if (chunk.size() == 1) {
+                    chunkStartLineNumber = lineNumber;
+                }
+                chunkEndLineNumber = lineNumber;
+            }
+
+            if (errorMessage != null) {
+                failureCount++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new ProductImportResponse.RowError(lineNumber, errorMessage));
+                }
+            }
+            if (chunk.size() == chunkSize) {
+                try {
+                    successCount += insert(chunk);
+                } catch (DataAccessException e) {
+                    return failedResponse(successCount, failureCount, errors, chunkStartLineNumber, chunkEndLineNumber);
+                }
+                chunk.clear();
+            }
+        }
+        try {
+            successCount += insert(chunk);
+        } catch (DataAccessException e) {
+            return failedResponse(successCount, failureCount, errors, chunkStartLineNumber, chunkEndLineNumber);
+        }
+
+        return ProductImportResponse.builder()
+            .successCount(successCount)
+            .failureCount(failureCount)
+            .errors(errors)
+            .build();
+    }
+
+    private ProductImportResponse failedResponse(int successCount, int failureCount, List<ProductImportResponse.RowError> errors,
+                                                 int chunkStartLineNumber, int chunkEndLineNumber) {
+        return ProductImportResponse.builder()
+            .successCount(successCount)
+            .failureCount(failureCount)
+            .errors(errors)
+            .failedChunk(new ProductImportResponse.FailedChunk(chunkStartLineNumber, chunkEndLineNumber, "상품 저장에 실패했습니다."))
+            .build();
+    }
+
+    //상품 등록 API(ProductCreateRequest)와 같은 규칙, 통과하면 null
+    private String validate(ProductCreateServiceRequest request) {
+        if (request.getType() == null) {
+            return "상품 타입은 필수입니다.";
+        }
+        if (request.getSellingStatus() == null) {
+            return "상품 판매상태는 필수입니다.";
+        }
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "상품 이름은 필수입니다.";
+        }
+        if (request.getPrice() <= 0) {
+            return "상품 가격은 양수여야 합니다.";
+        }
+        return null;
+    }
+
+    private int insert(List<Product> products) {
+        if (products.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, products, products.size(), (ps, product) -> {
+                ps.setString(1, product.getProductNumber());
+                ps.setString(2, product.getType().name());
+                ps.setString(3, product.getSellingStatus().name());
+                ps.setString(4, product.getName());
+                ps.setInt(5, product.getPrice());
+                ps.setTimestamp(6, now);
+                ps.setTimestamp(7, now);
+            }));
+
+        eventPublisher.publishEvent(new ProductChangedEvent(products.stream()
+            .map(ProductResponse::of)
+            .collect(Collectors.toList())));
+        return products.size();
+    }
+
+}
@@ -0,0 +1,108 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSnapshot;
+import sample.cafekiosk.spring.support.cache.ExpiringLruCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 시 상품번호로 상품을 찾을 때 쓰는 메모리 캐시
+ * 캐시에 없는 상품번호만 DB에서 읽고, 상품이 바뀌면 해당 상품번호를 지운다.
+ * 여러 스레드가 같은 값을 꺼내 쓰므로 엔티티 대신 변경할 수 없는 ProductSnapshot을 보관한다.
+ */
+@Component
+public class ProductNearCache {
+
+    private final ProductRepository productRepository;
+    private final ExpiringLruCache<String, ProductSnapshot> cache;
+
+    //DB에서 읽는 동안 상품이 바뀌었으면 읽은 값을 캐시에 넣지 않기 위한 세대 번호
+    private final AtomicLong generation = new AtomicLong();
+
+    public ProductNearCache(ProductRepository productRepository,
+                            @Value("${cafekiosk.product.near-cache.size:10000}") int size,
+                            @Value("${cafekiosk.product.near-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.productRepository = productRepository;
+        this.cache = new ExpiringLruCache<>(size, Duration.ofSeconds(ttlSeconds));
+    }
+
+    //상품번호별 상품, 존재하지 않는 상품번호는 결과에 포함되지 않음
+    public Map<String, ProductSnapshot> findAllByProductNumberIn(Collection<String> productNumbers) {
+        Map<String, ProductSnapshot> productMap = new HashMap<>();
+        Set<String> misses = new HashSet<>();
+        for (String productNumber : productNumbers) {
+            ProductSnapshot product = cache.get(productNumber);
+            if (product != null) {
+                productMap.put(productNumber, product);
+            } else {
+                misses.add(productNumber);
+            }
+        }
+        if (misses.isEmpty()) {
+            return productMap;
+        }
+
+        long readGeneration = generation.get();
+        List<ProductSnapshot> loaded = productRepository.findAllByProductNumberIn(new ArrayList<>(misses)).stream()
+            .map(ProductSnapshot::of)
+            .collect(Collectors.toList());
+        loaded.forEach(product -> productMap.put(product.getProductNumber(), product));
+        putAfterCommit(loaded, readGeneration);
+        return productMap;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void invalidate(ProductChangedEvent event) {
+        generation.incrementAndGet();
+        for (ProductResponse product : event.getProducts()) {
+            cache.remove(product.getProductNumber());
+        }
+    }
+
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    //커밋되지 않은 트랜잭션에서 읽은 상품은 캐시에 넣지 않음
+    private void putAfterCommit(List<ProductSnapshot> products, long readGeneration) {
+        if (products.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(products, readGeneration);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(products, readGeneration);
+            }
+        });
+    }
+
+    private synchronized void put(List<ProductSnapshot> products, long readGeneration) {
+        if (generation.get() != readGeneration) {
+            return;
+        }
+        products.forEach(product -> cache.put(product.getProductNumber(), product));
+    }
+
+}
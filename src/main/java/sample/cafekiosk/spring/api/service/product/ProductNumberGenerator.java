@@ -0,0 +1,109 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequence;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품번호 발급기(hi-lo)
+ * product_number_sequence 테이블에서 번호를 블록 단위로 예약해두고, 블록 안의 번호는 메모리에서 CAS로 나눠준다.
+ * 블록 예약은 별도 트랜잭션에서 커밋되므로 상품 등록이 롤백되어도 같은 번호가 다시 발급되지 않는다. (대신 번호가 비는 건 허용)
+ */
+@Component
+public class ProductNumberGenerator {
+
+    private static final String SEQUENCE_NAME = "product_number";
+
+    private final ProductNumberSequenceRepository productNumberSequenceRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    private volatile Block block = new Block(0, 0);
+
+    public ProductNumberGenerator(ProductNumberSequenceRepository productNumberSequenceRepository,
+                                  ProductRepository productRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${cafekiosk.product.number-block-size:100}") int blockSize) {
+        this.productNumberSequenceRepository = productNumberSequenceRepository;
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public String next() {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return format(value);
+            }
+            refill(current);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (block != exhausted) {
+            return;
+        }
+        long start = reserve(blockSize);
+        block = new Block(start, start + blockSize);
+    }
+
+    private long reserve(int size) {
+        try {
+            return reserveInNewTransaction(size);
+        } catch (DataIntegrityViolationException e) {
+            //다른 인스턴스가 시퀀스 row를 먼저 만든 경우 한 번 더 시도
+            return reserveInNewTransaction(size);
+        }
+    }
+
+    private long reserveInNewTransaction(int size) {
+        return transactionTemplate.execute(status -> {
+            ProductNumberSequence sequence = productNumberSequenceRepository.findForUpdate(SEQUENCE_NAME)
+                .orElseGet(() -> productNumberSequenceRepository.saveAndFlush(
+                    ProductNumberSequence.create(SEQUENCE_NAME, findNextOfLatestProductNumber())));
+            return sequence.allocate(size);
+        });
+    }
+
+    //시퀀스가 처음 만들어질 때는 기존 상품번호 다음 번호부터 시작
+    private long findNextOfLatestProductNumber() {
+        String latestProductNumber = productRepository.findLatestProductNumber();
+        if (latestProductNumber == null) {
+            return 1;
+        }
+        return Long.parseLong(latestProductNumber) + 1;
+    }
+
+    private static String format(long value) {
+        if (value < 10) {
+            return "00" + value;
+        }
+        if (value < 100) {
+            return "0" + value;
+        }
+        return Long.toString(value);
+    }
+
+    private static class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import sample.cafekiosk.spring.api.service.product.request.ProductSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.support.text.Hangul;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 이름 부분 검색용 메모리 색인
+ * 이름을 자모로 분해한 문자열과 초성 문자열의 1-gram, 2-gram으로 색인해서, "라떼", "카페ㄹ", "ㅇㅁㄹ", "ㅋ" 같은 입력도 찾을 수 있다.
+ * 검색어의 2-gram(한 글자면 1-gram) 중 가장 적은 상품에 나오는 것으로 후보를 고른 뒤 실제로 포함하는지 다시 확인한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class ProductSearchIndex {
+
+    private final ProductRepository productRepository;
+
+    //상품번호 순으로 정렬해 두어, 후보가 많을 때는 앞에서부터 size개만 찾고 멈춤
+    private final NavigableMap<String, Document> documents = new ConcurrentSkipListMap<>();
+    //posting에는 Document를 그대로 넣어 후보마다 documents를 다시 찾지 않음 (같은 상품이 다시 색인되면 이전 Document는 모두 빠짐)
+    private final Map<Integer, Set<Document>> jamoPostings = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Document>> choseongPostings = new ConcurrentHashMap<>();
+    //ConcurrentSkipListMap.size()는 전체를 세므로 따로 관리
+    private volatile int documentCount;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        index(productRepository.findAll().stream()
+            .map(ProductResponse::of)
+            .collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void update(ProductChangedEvent event) {
+        index(event.getProducts());
+    }
+
+    //같은 상품번호가 이미 있으면 기존 색인을 지우고 다시 넣음
+    public synchronized void index(List<ProductResponse> products) {
+        for (ProductResponse product : products) {
+            Document previous = documents.get(product.getProductNumber());
+            if (previous != null) {
+                removePostings(previous);
+            }
+
+            Document document = new Document(product);
+            documents.put(product.getProductNumber(), document);
+            addPostings(document);
+            if (previous == null) {
+                documentCount++;
+            }
+        }
+    }
+
+    public List<ProductResponse> search(ProductSearchServiceRequest request) {
+        String keyword = normalize(request.getKeyword());
+        if (keyword.isEmpty()) {
+            return List.of();
+        }
+
+        boolean choseongOnly = Hangul.isChoseongOnly(keyword);
+        String term = choseongOnly ? keyword : Hangul.toJamo(keyword);
+
+        Set<Document> candidates = findCandidates(term, choseongOnly ? choseongPostings : jamoPostings);
+        Predicate<Document> matches = document -> (choseongOnly ? document.choseong : document.jamo).contains(term)
+            && (request.getSellingStatus() == null || document.product.getSellingStatus() == request.getSellingStatus())
+            && (request.getType() == null || document.product.getType() == request.getType());
+
+        List<ProductResponse> scanned = scanInProductNumberOrder(candidates, matches, request.getSize());
+        if (scanned != null) {
+            return scanned;
+        }
+        return candidates.stream()
+            .filter(matches)
+            .map(document -> document.product)
+            .sorted(Comparator.comparing(ProductResponse::getProductNumber))
+            .limit(request.getSize())
+            .collect(Collectors.toList());
+    }
+
+    //"ㅏ"처럼 대부분의 상품이 후보면 후보를 모두 정렬하는 대신, 정렬된 전체 상품을 앞에서부터 훑다가 size개를 채우면 멈춤
+    //후보 비율이 candidates / N 이면 예상 훑는 개수는 size * N / candidates, 그 4배를 훑어도 못 채우면 null을 반환해 후보 목록으로 찾게 함
+    private List<ProductResponse> scanInProductNumberOrder(Set<Document> candidates, Predicate<Document> matches, int size) {
+        long candidateCount = candidates.size();
+        long total = documentCount;
+        if (candidateCount * candidateCount <= size * total) {
+            return null;
+        }
+
+        long scanLimit = 4 * size * total / candidateCount;
+        List<ProductResponse> products = new ArrayList<>(size);
+        int scannedCount = 0;
+        for (Document document : documents.values()) {
+            if (scannedCount++ >= scanLimit) {
+                return null;
+            }
+            if (candidates.contains(document) && matches.test(document)) {
+                products.add(document.product);
+                if (products.size() == size) {
+                    break;
+                }
+            }
+        }
+        return products;
+    }
+
+    //검색어를 포함하는 상품은 검색어의 모든 gram을 가지므로 가장 작은 posting 목록만 후보로 쓰면 됨, 없는 gram이 있으면 빈 목록
+    private Set<Document> findCandidates(String term, Map<Integer, Set<Document>> postings) {
+        Set<Integer> grams = term.length() == 1 ? Set.of(unigram(term.charAt(0))) : bigrams(term);
+
+        Set<Document> candidates = null;
+        for (int gram : grams) {
+            Set<Document> postingList = postings.get(gram);
+            if (postingList == null) {
+                return Set.of();
+            }
+            if (candidates == null || postingList.size() < candidates.size()) {
+                candidates = postingList;
+            }
+        }
+        return candidates;
+    }
+
+    private void addPostings(Document document) {
+        for (int gram : grams(document.jamo)) {
+            jamoPostings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(document);
+        }
+        for (int gram : grams(document.choseong)) {
+            choseongPostings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(document);
+        }
+    }
+
+    private void removePostings(Document document) {
+        for (int gram : grams(document.jamo)) {
+            removePosting(jamoPostings, gram, document);
+        }
+        for (int gram : grams(document.choseong)) {
+            removePosting(choseongPostings, gram, document);
+        }
+    }
+
+    private static void removePosting(Map<Integer, Set<Document>> postings, int gram, Document document) {
+        Set<Document> postingList = postings.get(gram);
+        if (postingList == null) {
+            return;
+        }
+        postingList.remove(document);
+        if (postingList.isEmpty()) {
+            postings.remove(gram);
+        }
+    }
+
+    //색인에는 1-gram과 2-gram을 함께 넣음
+    private static Set<Integer> grams(String text) {
+        Set<Integer> grams = bigrams(text);
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(unigram(text.charAt(i)));
+        }
+        return grams;
+    }
+
+    //연속한 두 문자를 int 하나로 묶음 (앞 문자가 상위 16비트에 들어가므로 1-gram과 겹치지 않음)
+    private static Set<Integer> bigrams(String text) {
+        Set<Integer> bigrams = new HashSet<>();
+        for (int i = 0; i + 1 < text.length(); i++) {
+            bigrams.add(text.charAt(i) << 16 | text.charAt(i + 1));
+        }
+        return bigrams;
+    }
+
+    private static int unigram(char c) {
+        return c;
+    }
+
+    //공백은 무시하고 영문은 소문자로 비교
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static class Document {
+        private final ProductResponse product;
+        private final String jamo;
+        private final String choseong;
+
+        private Document(ProductResponse product) {
+            String name = normalize(product.getName());
+            this.product = product;
+            this.jamo = Hangul.toJamo(name);
+            this.choseong = Hangul.toChoseong(name);
+        }
+    }
+
+}
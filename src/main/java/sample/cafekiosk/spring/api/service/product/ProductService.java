@@ -1,33 +1,57 @@
 package sample.cafekiosk.spring.api.service.product;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 
+import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Service
 public class ProductService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ProductRepository productRepository;
+    private final ProductNumberGenerator productNumberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
 
     @Transactional
     public ProductResponse createProduct(ProductCreateServiceRequest request) {
-        String nextProductNumber = createNextProductNumber();
+        String nextProductNumber = productNumberGenerator.next();
 
         Product product = request.toEntity(nextProductNumber);
         Product savedProduct = productRepository.save(product);
 
-        return ProductResponse.of(savedProduct);
+        ProductResponse productResponse = ProductResponse.of(savedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.of(productResponse));
+        return productResponse;
+    }
+
+    @Transactional
+    public ProductResponse changeSellingStatus(String productNumber, ProductSellingStatus sellingStatus) {
+        Product product = productRepository.findByProductNumber(productNumber)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
+        product.changeSellingStatus(sellingStatus);
+
+        ProductResponse productResponse = ProductResponse.of(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(productResponse));
+        return productResponse;
     }
 
     public List<ProductResponse> getSellingProducts() {
@@ -38,16 +62,30 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
 
-    private String createNextProductNumber() {
-        String latestProductNumber = productRepository.findLatestProductNumber();
-        if (latestProductNumber == null) {
-            return "001";
-        }
+    //cursor는 이전 페이지의 마지막 상품 id, 첫 페이지는 null
+    public ProductPageResponse getSellingProducts(Long cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<Product> products = productRepository.findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc(
+                ProductSellingStatus.forDisplay(),
+                cursor == null ? 0L : cursor,
+                PageRequest.of(0, pageSize + 1)
+        );
 
-        int latestProductNumberInt = Integer.parseInt(latestProductNumber);
-        int nextProductNumberInt = latestProductNumberInt + 1;
+        boolean hasNext = products.size() > pageSize;
+        return ProductPageResponse.of(products.stream()
+                .limit(pageSize)
+                .map(ProductResponse::of)
+                .collect(Collectors.toList()), hasNext);
+    }
 
-        return String.format("%03d", nextProductNumberInt);
+    //판매 상품을 한 건씩 넘겨줌, 넘겨준 엔티티는 영속성 컨텍스트에서 떼어내서 목록 크기와 관계없이 메모리를 일정하게 유지
+    public void forEachSellingProduct(Consumer<ProductResponse> consumer) {
+        try (Stream<Product> products = productRepository.streamAllBySellingStatusIn(ProductSellingStatus.forDisplay())) {
+            products.forEach(product -> {
+                consumer.accept(ProductResponse.of(product));
+                entityManager.detach(product);
+            });
+        }
     }
 
 }
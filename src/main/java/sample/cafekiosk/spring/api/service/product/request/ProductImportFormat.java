@@ -0,0 +1,54 @@
+package sample.cafekiosk.spring.api.service.product.request;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.io.IOException;
+
+/**
+ * 상품 일괄 등록 파일 형식
+ * CSV : type,sellingStatus,name,price (첫 줄이 type으로 시작하면 헤더로 보고 건너뜀, 이름에 쉼표는 쓸 수 없음)
+ * NDJSON : 한 줄에 {"type", "sellingStatus", "name", "price"} JSON 하나
+ * 형식이 잘못된 행은 IllegalArgumentException(CSV) 또는 IOException(NDJSON)을 던진다.
+ */
+public enum ProductImportFormat {
+
+    CSV {
+        @Override
+        public boolean isHeader(int lineNumber, String line) {
+            return lineNumber == 1 && line.startsWith("type");
+        }
+
+        @Override
+        public ProductCreateServiceRequest parse(String line, ObjectMapper objectMapper) {
+            String[] columns = line.split(",", -1);
+            if (columns.length != 4) {
+                throw new IllegalArgumentException("컬럼 수가 맞지 않습니다.");
+            }
+            return ProductCreateServiceRequest.builder()
+                .type(columns[0].isBlank() ? null : ProductType.valueOf(columns[0].trim()))
+                .sellingStatus(columns[1].isBlank() ? null : ProductSellingStatus.valueOf(columns[1].trim()))
+                .name(columns[2].trim())
+                .price(Integer.parseInt(columns[3].trim()))
+                .build();
+        }
+    },
+
+    NDJSON {
+        @Override
+        public boolean isHeader(int lineNumber, String line) {
+            return false;
+        }
+
+        @Override
+        public ProductCreateServiceRequest parse(String line, ObjectMapper objectMapper) throws IOException {
+            return objectMapper.readValue(line, ProductCreateServiceRequest.class);
+        }
+    };
+
+    public abstract boolean isHeader(int lineNumber, String line);
+
+    public abstract ProductCreateServiceRequest parse(String line, ObjectMapper objectMapper) throws IOException;
+
+}
@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.api.service.product.request;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+@Getter
+public class ProductSearchServiceRequest {
+
+    private static final int MAX_SIZE = 100;
+
+    private final String keyword;
+    private final ProductSellingStatus sellingStatus;
+    private final ProductType type;
+    private final int size;
+
+    //판매상태, 타입은 null이면 조건에서 제외
+    @Builder
+    private ProductSearchServiceRequest(String keyword, ProductSellingStatus sellingStatus, ProductType type, int size) {
+        this.keyword = keyword;
+        this.sellingStatus = sellingStatus;
+        this.type = type;
+        this.size = Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+}
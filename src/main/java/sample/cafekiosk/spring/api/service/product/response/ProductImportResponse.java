@@ -0,0 +1,50 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ProductImportResponse {
+
+    //커밋된 행 수, chunk 저장이 실패해 중간에 멈춘 경우에도 그 전까지 저장된 행은 남아 있음
+    private int successCount;
+    private int failureCount;
+    private List<RowError> errors;
+    //저장하다 실패한 chunk, 끝까지 저장했으면 null
+    private FailedChunk failedChunk;
+
+    @Builder
+    private ProductImportResponse(int successCount, int failureCount, List<RowError> errors, FailedChunk failedChunk) {
+        this.successCount = successCount;
+        this.failureCount = failureCount;
+        this.errors = errors;
+        this.failedChunk = failedChunk;
+    }
+
+    @Getter
+    public static class RowError {
+        private final int lineNumber;
+        private final String message;
+
+        public RowError(int lineNumber, String message) {
+            this.lineNumber = lineNumber;
+            this.message = message;
+        }
+    }
+
+    @Getter
+    public static class FailedChunk {
+        private final int startLineNumber;
+        private final int endLineNumber;
+        private final String message;
+
+        public FailedChunk(int startLineNumber, int endLineNumber, String message) {
+            this.startLineNumber = startLineNumber;
+            this.endLineNumber = endLineNumber;
+            this.message = message;
+        }
+    }
+
+}
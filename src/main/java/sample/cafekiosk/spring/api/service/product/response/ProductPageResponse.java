@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ProductPageResponse {
+
+    private List<ProductResponse> products;
+    private Long nextCursor;
+    private boolean hasNext;
+
+    @Builder
+    private ProductPageResponse(List<ProductResponse> products, Long nextCursor, boolean hasNext) {
+        this.products = products;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    public static ProductPageResponse of(List<ProductResponse> products, boolean hasNext) {
+        return ProductPageResponse.builder()
+                .products(products)
+                .nextCursor(hasNext ? products.get(products.size() - 1).getId() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+}
@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Getter;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductSnapshot;
 import sample.cafekiosk.spring.domain.product.ProductType;
 
 @Getter
@@ -37,4 +38,15 @@ public class ProductResponse {
                 .build();
     }
 
+    public static ProductResponse of(ProductSnapshot product) {
+        return ProductResponse.builder()
+                .id(product.getId())
+                .productNumber(product.getProductNumber())
+                .type(product.getType())
+                .sellingStatus(product.getSellingStatus())
+                .name(product.getName())
+                .price(product.getPrice())
+                .build();
+    }
+
 }
@@ -0,0 +1,116 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 키별 만료 시각을 tick 단위 버킷에 나눠 담는 타이머
+ * 등록/취소는 O(1)이고, 한 tick을 진행할 때는 해당 버킷만 살펴보므로 수만 건의 만료 대기도 가볍게 처리
+ * advance()는 한 스레드에서만 호출해야 한다.
+ */
+public class HashedWheelTimer<K> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final List<List<Timeout<K>>> wheel;
+
+    private final Queue<Timeout<K>> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final ConcurrentMap<K, Timeout<K>> timeouts = new ConcurrentHashMap<>();
+
+    private long tick;
+
+    public HashedWheelTimer(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tick 간격은 양수여야 합니다.");
+        }
+        int normalizedWheelSize = Integer.highestOneBit(Math.max(wheelSize - 1, 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.mask = normalizedWheelSize - 1;
+        this.wheel = new ArrayList<>(normalizedWheelSize);
+        for (int i = 0; i < normalizedWheelSize; i++) {
+            wheel.add(new ArrayList<>());
+        }
+    }
+
+    //같은 키로 다시 등록하면 이전 만료는 무시됨
+    public void schedule(K key, long deadlineMillis) {
+        Timeout<K> timeout = new Timeout<>(key, deadlineMillis);
+        timeouts.put(key, timeout);
+        pendingTimeouts.add(timeout);
+    }
+
+    public boolean cancel(K key) {
+        return timeouts.remove(key) != null;
+    }
+
+    public int size() {
+        return timeouts.size();
+    }
+
+    //nowMillis까지의 tick을 진행하고 만료된 키들을 반환
+    public List<K> advance(long nowMillis) {
+        transferPendingTimeouts();
+
+        List<K> expiredKeys = new ArrayList<>();
+        long currentTick = (nowMillis - startMillis) / tickMillis;
+        while (tick <= currentTick) {
+            expireBucket(wheel.get((int) (tick & mask)), expiredKeys);
+            tick++;
+        }
+        return expiredKeys;
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout<K> timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeouts.get(timeout.key) != timeout) {
+                continue;
+            }
+            long deadlineTick = Math.max(ceilDiv(timeout.deadlineMillis - startMillis, tickMillis), tick);
+            timeout.remainingRounds = (deadlineTick - tick) / wheel.size();
+            wheel.get((int) (deadlineTick & mask)).add(timeout);
+        }
+    }
+
+    private void expireBucket(List<Timeout<K>> bucket, List<K> expiredKeys) {
+        Iterator<Timeout<K>> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout<K> timeout = iterator.next();
+            if (timeouts.get(timeout.key) != timeout) {
+                iterator.remove();
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                continue;
+            }
+            iterator.remove();
+            if (timeouts.remove(timeout.key, timeout)) {
+                expiredKeys.add(timeout.key);
+            }
+        }
+    }
+
+    private static long ceilDiv(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    private static class Timeout<K> {
+        private final K key;
+        private final long deadlineMillis;
+        private long remainingRounds;
+
+        private Timeout(K key, long deadlineMillis) {
+            this.key = key;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+
+}
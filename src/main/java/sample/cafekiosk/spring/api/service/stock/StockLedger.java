@@ -0,0 +1,199 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import javax.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인기 상품 주문이 stock row lock에 줄서지 않도록 메모리에서 재고를 차감하는 원장
+ * 상품별 카운터를 CAS로 차감하고, 커밋된 차감분은 모아두었다가 주기적으로 Stock 테이블에 반영(write-behind)
+ * cafekiosk.stock.ledger.enabled=true 일 때만 동작
+ */
+@Slf4j
+@Component
+public class StockLedger {
+
+    private final StockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    private final ConcurrentMap<String, AtomicInteger> quantities = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> pendingDeductions = new ConcurrentHashMap<>();
+
+    public StockLedger(StockRepository stockRepository,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${cafekiosk.stock.ledger.enabled:false}") boolean enabled) {
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    //애플리케이션 시작 시 DB 재고를 기준으로 원장을 다시 맞춤
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        quantities.clear();
+        pendingDeductions.clear();
+        stockRepository.findAll()
+            .forEach(stock -> quantities.put(stock.getProductNumber(), new AtomicInteger(stock.getQuantity())));
+    }
+
+    public Map<String, Integer> getQuantities(Collection<String> productNumbers) {
+        Map<String, Integer> result = new HashMap<>();
+        for (String productNumber : productNumbers) {
+            AtomicInteger quantity = counterOf(productNumber);
+            if (quantity != null) {
+                result.put(productNumber, quantity.get());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 상품별 수량을 모두 차감하거나, 하나라도 부족하면 아무것도 차감하지 않고 예외를 던진다.
+     * 트랜잭션 안에서 호출되면 커밋 후에 반영 대기열에 올리고, 롤백되면 차감한 수량을 되돌린다.
+     */
+    public void reserve(Map<String, Long> productCountingMap) {
+        Map<String, Integer> reserved = new TreeMap<>();
+        for (Map.Entry<String, Long> entry : new TreeMap<>(productCountingMap).entrySet()) {
+            int quantity = entry.getValue().intValue();
+            if (!tryDeduct(entry.getKey(), quantity)) {
+                restore(reserved);
+                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+            }
+            reserved.put(entry.getKey(), quantity);
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addPendingDeductions(reserved);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    addPendingDeductions(reserved);
+                    return;
+                }
+                restore(reserved);
+            }
+        });
+    }
+
+    //잡아둔 재고를 되돌림, 트랜잭션 안이라면 커밋된 뒤에 되돌리고 DB에는 음수 차감분으로 반영됨
+    public void release(Map<String, Long> productCountingMap) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyRelease(productCountingMap);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyRelease(productCountingMap);
+            }
+        });
+    }
+
+    //모아둔 차감분을 상품별로 합쳐 한 트랜잭션에서 반영, 실패하면 다음 주기에 다시 시도
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Integer> deductions = new TreeMap<>();
+        pendingDeductions.forEach((productNumber, pending) -> {
+            int quantity = pending.getAndSet(0);
+            if (quantity != 0) {
+                deductions.put(productNumber, quantity);
+            }
+        });
+        if (deductions.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> deductions.forEach(stockRepository::applyDeduction));
+        } catch (RuntimeException e) {
+            log.warn("재고 차감분 반영 실패, 다음 주기에 재시도합니다.", e);
+            addPendingDeductions(deductions);
+        }
+    }
+
+    private boolean tryDeduct(String productNumber, int quantity) {
+        AtomicInteger counter = counterOf(productNumber);
+        if (counter == null) {
+            return false;
+        }
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return true;
+            }
+        }
+    }
+
+    private void applyRelease(Map<String, Long> productCountingMap) {
+        Map<String, Integer> released = new TreeMap<>();
+        productCountingMap.forEach((productNumber, quantity) -> {
+            AtomicInteger counter = counterOf(productNumber);
+            if (counter != null) {
+                counter.addAndGet(quantity.intValue());
+                released.put(productNumber, -quantity.intValue());
+            }
+        });
+        addPendingDeductions(released);
+    }
+
+    private void restore(Map<String, Integer> reserved) {
+        reserved.forEach((productNumber, quantity) -> quantities.get(productNumber).addAndGet(quantity));
+    }
+
+    private void addPendingDeductions(Map<String, Integer> deductions) {
+        deductions.forEach((productNumber, quantity) ->
+            pendingDeductions.computeIfAbsent(productNumber, key -> new AtomicInteger()).addAndGet(quantity));
+    }
+
+    //시작 이후에 등록된 재고는 처음 조회할 때 DB에서 읽어옴
+    private AtomicInteger counterOf(String productNumber) {
+        AtomicInteger counter = quantities.get(productNumber);
+        if (counter != null) {
+            return counter;
+        }
+        List<Stock> stocks = stockRepository.findAllByProductNumberIn(List.of(productNumber));
+        if (stocks.isEmpty()) {
+            return null;
+        }
+        AtomicInteger loaded = new AtomicInteger(stocks.get(0).getQuantity());
+        AtomicInteger existing = quantities.putIfAbsent(productNumber, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+}
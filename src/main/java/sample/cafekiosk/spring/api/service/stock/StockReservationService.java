@@ -0,0 +1,199 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderHold;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 결제 대기(INIT) 주문이 잡아둔 재고를 관리
+ * 주문 생성 시 차감된 재고는 TTL 동안 홀드 상태이고, 결제 완료 시 확정되며
+ * 결제 실패/취소/만료 시 재고를 되돌린다. 만료 시각은 HashedWheelTimer로 관리
+ * 홀드 기능이 생기기 전에 만들어진 INIT 주문은 자동으로 취소하지 않고, cancel-stale-orders-before를 설정했을 때만 정리한다.
+ */
+@Slf4j
+@Service
+public class StockReservationService {
+
+    private final OrderRepository orderRepository;
+    private final StockLedger stockLedger;
+    private final StockRepository stockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int expireBatchSize;
+    private final String cancelStaleOrdersBefore;
+    private final HashedWheelTimer<Long> holdTimer;
+
+    public StockReservationService(OrderRepository orderRepository,
+                                   StockLedger stockLedger,
+                                   StockRepository stockRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${cafekiosk.stock.reservation.ttl-seconds:600}") long ttlSeconds,
+                                   @Value("${cafekiosk.stock.reservation.tick-ms:1000}") long tickMillis,
+                                   @Value("${cafekiosk.stock.reservation.expire-batch-size:500}") int expireBatchSize,
+                                   @Value("${cafekiosk.stock.reservation.cancel-stale-orders-before:}") String cancelStaleOrdersBefore) {
+        this.orderRepository = orderRepository;
+        this.stockLedger = stockLedger;
+        this.stockRepository = stockRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.expireBatchSize = expireBatchSize;
+        this.cancelStaleOrdersBefore = cancelStaleOrdersBefore;
+        this.holdTimer = new HashedWheelTimer<>(tickMillis, 512, System.currentTimeMillis());
+    }
+
+    //주문이 커밋된 뒤에 등록, 롤백된 주문이 타이머에 남지 않도록 함
+    public void hold(Order order) {
+        Long orderId = order.getId();
+        long deadlineMillis = deadlineOf(order.getRegisteredDateTime());
+        afterCommit(() -> holdTimer.schedule(orderId, deadlineMillis));
+    }
+
+    public void confirm(Order order) {
+        Long orderId = order.getId();
+        afterCommit(() -> holdTimer.cancel(orderId));
+    }
+
+    //주문 상태 변경은 호출하는 쪽에서 처리하고, 여기서는 잡아둔 재고만 되돌림
+    public void release(List<Order> orders) {
+        List<Long> orderIds = orders.stream()
+            .map(Order::getId)
+            .collect(Collectors.toList());
+        afterCommit(() -> orderIds.forEach(holdTimer::cancel));
+
+        Map<String, Long> productCountingMap = orders.stream()
+            .flatMap(order -> order.getOrderProducts().stream())
+            .filter(orderProduct -> ProductType.containsStockType(orderProduct.getProduct().getType()))
+            .collect(Collectors.groupingBy(orderProduct -> orderProduct.getProduct().getProductNumber(),
+                TreeMap::new, Collectors.summingLong(OrderProduct::getQuantity)));
+        if (productCountingMap.isEmpty()) {
+            return;
+        }
+
+        if (stockLedger.isEnabled()) {
+            stockLedger.release(productCountingMap);
+            return;
+        }
+        productCountingMap.forEach((productNumber, quantity) ->
+            stockRepository.restoreQuantity(productNumber, quantity.intValue()));
+    }
+
+    public int getHoldCount() {
+        return holdTimer.size();
+    }
+
+    //타이머는 한 스레드에서만 진행해야 하므로 동기화
+    //아직 결제 대기 중인 주문만 조건부 update로 취소하고, 취소된 주문의 재고만 되돌림
+    //그 사이 결제가 완료된 주문은 건너뛰고, 만료가 먼저 커밋되면 결제 쪽이 버전 충돌로 실패함
+    //한 번에 많이 만료되어도 트랜잭션이 길어지지 않도록 expireBatchSize건씩 나눠서 커밋
+    @Scheduled(fixedDelayString = "${cafekiosk.stock.reservation.tick-ms:1000}")
+    public synchronized void expireHolds() {
+        List<Long> expiredOrderIds = holdTimer.advance(System.currentTimeMillis());
+        if (expiredOrderIds.isEmpty()) {
+            return;
+        }
+
+        int expiredCount = 0;
+        for (int start = 0; start < expiredOrderIds.size(); start += expireBatchSize) {
+            List<Long> batch = expiredOrderIds.subList(start, Math.min(start + expireBatchSize, expiredOrderIds.size()));
+            Integer canceled = transactionTemplate.execute(status -> expire(batch));
+            expiredCount += canceled == null ? 0 : canceled;
+        }
+        log.info("결제 대기 시간이 지난 주문 {}건의 재고를 되돌렸습니다.", expiredCount);
+    }
+
+    //재시작 시 아직 만료되지 않은 결제 대기 주문의 홀드만 다시 등록
+    //그보다 오래된 INIT 주문은 홀드 기능 이전의 주문일 수 있어 자동으로 취소하지 않음 (cancelStaleOrders 참고)
+    @EventListener(ApplicationReadyEvent.class)
+    public void reloadHolds() {
+        List<OrderHold> holds = orderRepository.findHoldsBy(OrderStatus.INIT, LocalDateTime.now().minus(ttl));
+        holds.forEach(hold -> holdTimer.schedule(hold.getOrderId(), deadlineOf(hold.getRegisteredDateTime())));
+
+        if (!cancelStaleOrdersBefore.isBlank()) {
+            int canceled = cancelStaleOrders(LocalDateTime.parse(cancelStaleOrdersBefore));
+            log.warn("{} 이전의 결제 대기 주문 {}건을 재고 복구 없이 취소했습니다.", cancelStaleOrdersBefore, canceled);
+        }
+    }
+
+    /**
+     * registeredBefore 이전에 만들어진 INIT 주문을 재고를 되돌리지 않고 취소한다.
+     * 홀드 기능 배포 전 주문이나 서버가 내려가 있는 동안 만료된 주문을 정리하기 위한 것으로, 자동으로 실행되지 않는다.
+     * (cafekiosk.stock.reservation.cancel-stale-orders-before에 시각을 지정하고 띄우면 시작할 때 한 번 실행)
+     * 재고는 그 주문들이 이미 소진한 것으로 보고 손대지 않으며, 필요하면 따로 맞춘다.
+     */
+    public int cancelStaleOrders(LocalDateTime registeredBefore) {
+        int canceledCount = 0;
+        while (true) {
+            Integer canceled = transactionTemplate.execute(status -> {
+                List<Long> orderIds = orderRepository.findIdsBy(OrderStatus.INIT, registeredBefore, PageRequest.of(0, expireBatchSize));
+                if (orderIds.isEmpty()) {
+                    return null;
+                }
+                return orderRepository.changeOrderStatuses(orderIds, OrderStatus.INIT, OrderStatus.CANCELED);
+            });
+            if (canceled == null) {
+                return canceledCount;
+            }
+            canceledCount += canceled;
+        }
+    }
+
+    private int expire(List<Long> orderIds) {
+        List<Long> canceledOrderIds = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            if (orderRepository.changeOrderStatus(orderId, OrderStatus.INIT, OrderStatus.CANCELED) == 1) {
+                canceledOrderIds.add(orderId);
+            }
+        }
+        if (canceledOrderIds.isEmpty()) {
+            return 0;
+        }
+        List<Order> orders = orderRepository.findAllWithProductsByIdIn(canceledOrderIds);
+        release(orders);
+        return orders.size();
+    }
+
+    private long deadlineOf(LocalDateTime registeredDateTime) {
+        return toEpochMillis(registeredDateTime.plus(ttl));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+}
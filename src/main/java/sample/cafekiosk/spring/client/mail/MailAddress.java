@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.client.mail;
+
+/**
+ * 메일 주소 검증
+ * 주소는 SMTP 명령(MAIL FROM:<...>, RCPT TO:<...>)과 From/To 헤더에 그대로 들어가므로,
+ * 줄바꿈이나 꺾쇠가 섞이면 명령이나 헤더를 끼워 넣을 수 있다.
+ */
+public final class MailAddress {
+
+    private MailAddress() {
+    }
+
+    //CR, LF 같은 제어 문자, 꺾쇠, 공백이 있으면 거절
+    public static void validate(String address) {
+        if (address == null || address.isEmpty()) {
+            throw new IllegalArgumentException("메일 주소는 필수입니다.");
+        }
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (c <= ' ' || c == 0x7F || c == '<' || c == '>') {
+                throw new IllegalArgumentException("올바르지 않은 메일 주소입니다.");
+            }
+        }
+    }
+
+}
@@ -1,14 +1,52 @@
 package sample.cafekiosk.spring.client.mail;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
+
 @Slf4j
 @Component
 public class MailSendClient {
 
+    //cafekiosk.mail.smtp.host가 없으면 메일 서버 없이 동작 (전송은 항상 실패)
+    private final SmtpConnectionPool connectionPool;
+
+    public MailSendClient(@Value("${cafekiosk.mail.smtp.host:}") String host,
+                          @Value("${cafekiosk.mail.smtp.port:25}") int port,
+                          @Value("${cafekiosk.mail.smtp.helo-name:localhost}") String heloName,
+                          @Value("${cafekiosk.mail.smtp.pool-size:4}") int poolSize,
+                          @Value("${cafekiosk.mail.smtp.connect-timeout-ms:3000}") int connectTimeoutMillis,
+                          @Value("${cafekiosk.mail.smtp.read-timeout-ms:10000}") int readTimeoutMillis,
+                          @Value("${cafekiosk.mail.smtp.borrow-timeout-ms:5000}") long borrowTimeoutMillis,
+                          @Value("${cafekiosk.mail.smtp.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                          @Value("${cafekiosk.mail.smtp.validate-after-idle-ms:30000}") long validateAfterIdleMillis) {
+        this.connectionPool = host.isBlank() ? null : SmtpConnectionPool.builder()
+                .host(host)
+                .port(port)
+                .heloName(heloName)
+                .poolSize(poolSize)
+                .connectTimeoutMillis(connectTimeoutMillis)
+                .readTimeoutMillis(readTimeoutMillis)
+                .borrowTimeoutMillis(borrowTimeoutMillis)
+                .maxMessagesPerConnection(maxMessagesPerConnection)
+                .validateAfterIdleMillis(validateAfterIdleMillis)
+                .build();
+    }
+
     public boolean sendEmail(String fromEmail, String toEmail, String subject, String content) {
         log.info("메일 전송");
-        throw new IllegalArgumentException("메일 전송");
+        if (connectionPool == null) {
+            throw new IllegalArgumentException("메일 전송");
+        }
+        return connectionPool.send(fromEmail, toEmail, subject, content);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
     }
 }
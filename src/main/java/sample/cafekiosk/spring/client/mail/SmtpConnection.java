@@ -0,0 +1,235 @@
+package sample.cafekiosk.spring.client.mail;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 메일 서버와 맺은 SMTP 연결 하나
+ * 서버가 PIPELINING을 지원하면 MAIL FROM, RCPT TO, DATA를 한 번에 보내고 응답을 몰아서 읽는다. (왕복 4번 -> 2번)
+ * 한 번에 한 스레드만 사용해야 하며, SmtpConnectionPool이 빌려주고 돌려받는다.
+ */
+class SmtpConnection implements Closeable {
+
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final Writer writer;
+    private final boolean pipelining;
+
+    private int sentCount;
+    private long lastUsedMillis;
+    private boolean broken;
+
+    private SmtpConnection(Socket socket, BufferedReader reader, Writer writer, boolean pipelining) {
+        this.socket = socket;
+        this.reader = reader;
+        this.writer = writer;
+        this.pipelining = pipelining;
+        this.lastUsedMillis = System.currentTimeMillis();
+    }
+
+    static SmtpConnection open(String host, int port, String heloName,
+                               int connectTimeoutMillis, int readTimeoutMillis) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(readTimeoutMillis);
+            socket.connect(new InetSocketAddress(host, port), connectTimeoutMillis);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+
+            expect(readReply(reader), 220);
+            writer.write("EHLO " + heloName + "\r\n");
+            writer.flush();
+            Reply ehlo = readReply(reader);
+            expect(ehlo, 250);
+            return new SmtpConnection(socket, reader, writer, ehlo.contains("PIPELINING"));
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 메일 한 통을 보낸다.
+     * @return 서버가 메일을 받았으면 true, 거절했으면 false (연결은 계속 쓸 수 있음)
+     * @throws IOException 통신 중 문제가 생긴 경우, 이 연결은 더 이상 쓰지 않는다.
+     * @throws IllegalArgumentException 메일 주소가 올바르지 않은 경우, 서버에는 아무것도 보내지 않는다.
+     */
+    boolean send(String fromEmail, String toEmail, String subject, String content) throws IOException {
+        MailAddress.validate(fromEmail);
+        MailAddress.validate(toEmail);
+        try {
+            lastUsedMillis = System.currentTimeMillis();
+            boolean accepted = pipelining
+                ? sendEnvelopePipelined(fromEmail, toEmail)
+                : sendEnvelope(fromEmail, toEmail);
+            if (!accepted) {
+                command("RSET");
+                expect(readReply(reader), 250);
+                return false;
+            }
+
+            writeMessage(fromEmail, toEmail, subject, content);
+            writer.flush();
+            sentCount++;
+            return readReply(reader).code == 250;
+        } catch (IOException e) {
+            broken = true;
+            throw e;
+        }
+    }
+
+    //오래 쉬었던 연결은 서버가 끊었을 수 있으니 빌려주기 전에 확인
+    boolean isAlive() {
+        if (broken || socket.isClosed()) {
+            return false;
+        }
+        try {
+            command("NOOP");
+            return readReply(reader).code == 250;
+        } catch (IOException e) {
+            broken = true;
+            return false;
+        }
+    }
+
+    boolean isBroken() {
+        return broken;
+    }
+
+    int getSentCount() {
+        return sentCount;
+    }
+
+    long getLastUsedMillis() {
+        return lastUsedMillis;
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (!broken && !socket.isClosed()) {
+                command("QUIT");
+            }
+        } catch (IOException ignored) {
+            //이미 끊긴 연결
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private boolean sendEnvelopePipelined(String fromEmail, String toEmail) throws IOException {
+        writer.write("MAIL FROM:<" + fromEmail + ">\r\n");
+        writer.write("RCPT TO:<" + toEmail + ">\r\n");
+        writer.write("DATA\r\n");
+        writer.flush();
+
+        //앞의 명령이 거절되어도 세 응답을 모두 읽어야 다음 명령의 응답과 섞이지 않음
+        int mail = readReply(reader).code;
+        int rcpt = readReply(reader).code;
+        int data = readReply(reader).code;
+        if (data == 354 && (mail != 250 || !isRecipientAccepted(rcpt))) {
+            //봉투가 거절됐는데 DATA를 받아준 경우, 서버가 본문을 기다리는 상태라 연결을 버림
+            broken = true;
+            throw new IOException("SMTP 응답 순서가 맞지 않습니다.");
+        }
+        return data == 354;
+    }
+
+    private boolean sendEnvelope(String fromEmail, String toEmail) throws IOException {
+        command("MAIL FROM:<" + fromEmail + ">");
+        if (readReply(reader).code != 250) {
+            return false;
+        }
+        command("RCPT TO:<" + toEmail + ">");
+        if (!isRecipientAccepted(readReply(reader).code)) {
+            return false;
+        }
+        command("DATA");
+        return readReply(reader).code == 354;
+    }
+
+    //본문은 UTF-8 base64로 보내서 줄 길이와 '.'로 시작하는 줄을 신경 쓰지 않아도 되게 함
+    private void writeMessage(String fromEmail, String toEmail, String subject, String content) throws IOException {
+        writer.write("From: <" + fromEmail + ">\r\n");
+        writer.write("To: <" + toEmail + ">\r\n");
+        writer.write("Subject: =?UTF-8?B?" + base64(subject) + "?=\r\n");
+        writer.write("MIME-Version: 1.0\r\n");
+        writer.write("Content-Type: text/plain; charset=UTF-8\r\n");
+        writer.write("Content-Transfer-Encoding: base64\r\n");
+        writer.write("\r\n");
+        String body = base64(content);
+        for (int start = 0; start < body.length(); start += 76) {
+            writer.write(body, start, Math.min(76, body.length() - start));
+            writer.write("\r\n");
+        }
+        writer.write(".\r\n");
+    }
+
+    private void command(String line) throws IOException {
+        writer.write(line);
+        writer.write("\r\n");
+        writer.flush();
+    }
+
+    private static boolean isRecipientAccepted(int code) {
+        return code == 250 || code == 251;
+    }
+
+    private static String base64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void expect(Reply reply, int code) throws IOException {
+        if (reply.code != code) {
+            throw new IOException("SMTP 서버 응답이 올바르지 않습니다. : " + reply.text);
+        }
+    }
+
+    //"250-..."은 이어지는 줄, "250 ..."이 마지막 줄
+    private static Reply readReply(BufferedReader reader) throws IOException {
+        StringBuilder text = new StringBuilder();
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null || line.length() < 3) {
+                throw new EOFException("SMTP 서버와의 연결이 끊어졌습니다.");
+            }
+            text.append(line).append('\n');
+        } while (line.length() > 3 && line.charAt(3) == '-');
+
+        try {
+            return new Reply(Integer.parseInt(line.substring(0, 3)), text.toString());
+        } catch (NumberFormatException e) {
+            throw new IOException("SMTP 서버 응답이 올바르지 않습니다. : " + line);
+        }
+    }
+
+    private static class Reply {
+        private final int code;
+        private final String text;
+
+        private Reply(int code, String text) {
+            this.code = code;
+            this.text = text;
+        }
+
+        private boolean contains(String keyword) {
+            return text.toUpperCase().contains(keyword);
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package sample.cafekiosk.spring.client.mail;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메일 서버와의 SMTP 연결을 열어두고 여러 메일에 재사용하는 pool
+ * 연결은 최대 poolSize개까지만 열고, 연결 하나에는 한 번에 메일 한 통만 보낸다.
+ * 모든 연결이 사용 중이면 borrowTimeoutMillis까지 기다렸다가 예외를 던진다. (메일 서버가 느려지면 호출하는 쪽이 밀려남)
+ * 연결마다 maxMessagesPerConnection통을 보내면 새로 연결하고, validateAfterIdleMillis 이상 쉬었던 연결은 NOOP으로 확인한 뒤 쓴다.
+ */
+@Slf4j
+public class SmtpConnectionPool implements Closeable {
+
+    private final String host;
+    private final int port;
+    private final String heloName;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final int maxMessagesPerConnection;
+    private final long validateAfterIdleMillis;
+
+    private final Semaphore permits;
+    //최근에 쓴 연결부터 다시 씀(LIFO), 쉬는 연결이 적을수록 서버에 끊길 일도 적음
+    private final BlockingDeque<SmtpConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final AtomicLong openedCount = new AtomicLong();
+
+    private volatile boolean closed;
+
+    @Builder
+    private SmtpConnectionPool(String host, int port, String heloName, int poolSize,
+                               int connectTimeoutMillis, int readTimeoutMillis, long borrowTimeoutMillis,
+                               int maxMessagesPerConnection, long validateAfterIdleMillis) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("SMTP 연결 수는 1 이상이어야 합니다.");
+        }
+        this.host = host;
+        this.port = port;
+        this.heloName = heloName;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.validateAfterIdleMillis = validateAfterIdleMillis;
+        this.permits = new Semaphore(poolSize, true);
+    }
+
+    /**
+     * @return 서버가 메일을 받았으면 true, 거절했으면 false
+     * @throws UncheckedIOException 메일 서버와 통신하지 못한 경우
+     * @throws IllegalStateException 연결을 기다리다 시간이 초과된 경우
+     * @throws IllegalArgumentException 메일 주소가 올바르지 않은 경우
+     */
+    public boolean send(String fromEmail, String toEmail, String subject, String content) {
+        //연결을 빌리기 전에 확인해서, 잘못된 주소 때문에 연결이 반납되지 않는 일이 없게 함
+        MailAddress.validate(fromEmail);
+        MailAddress.validate(toEmail);
+        acquire();
+        SmtpConnection connection = null;
+        try {
+            connection = borrow();
+            boolean sent = connection.send(fromEmail, toEmail, subject, content);
+            giveBack(connection);
+            return sent;
+        } catch (IOException e) {
+            if (connection != null) {
+                connection.close();
+            }
+            throw new UncheckedIOException(e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    //지금까지 새로 연 연결 수
+    public long getOpenedCount() {
+        return openedCount.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        SmtpConnection connection;
+        while ((connection = idleConnections.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+    private void acquire() {
+        if (closed) {
+            throw new IllegalStateException("SMTP 연결 pool이 닫혔습니다.");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("메일 서버 연결을 기다리는 시간이 초과되었습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("메일 서버 연결을 기다리는 중 중단되었습니다.", e);
+        }
+    }
+
+    private SmtpConnection borrow() throws IOException {
+        SmtpConnection connection;
+        while ((connection = idleConnections.pollFirst()) != null) {
+            boolean idleTooLong = System.currentTimeMillis() - connection.getLastUsedMillis() >= validateAfterIdleMillis;
+            if (!idleTooLong || connection.isAlive()) {
+                return connection;
+            }
+            connection.close();
+        }
+
+        connection = SmtpConnection.open(host, port, heloName, connectTimeoutMillis, readTimeoutMillis);
+        openedCount.incrementAndGet();
+        return connection;
+    }
+
+    private void giveBack(SmtpConnection connection) {
+        if (closed || connection.isBroken() || connection.getSentCount() >= maxMessagesPerConnection) {
+            connection.close();
+            return;
+        }
+        idleConnections.offerFirst(connection);
+        //close()와 동시에 반납된 연결이 남지 않도록
+        if (closed && idleConnections.remove(connection)) {
+            connection.close();
+        }
+    }
+
+}
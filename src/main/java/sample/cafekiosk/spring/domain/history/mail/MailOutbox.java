@@ -0,0 +1,99 @@
+package sample.cafekiosk.spring.domain.history.mail;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 보낼 메일(outbox)
+ * 메일 요청 트랜잭션에서는 이 행만 저장하고, 실제 전송은 dispatcher가 나중에 모아서 처리한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(columnList = "status, next_attempt_date_time"))
+@Entity
+public class MailOutbox extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String fromEmail;
+    private String toEmail;
+    private String subject;
+    private String content;
+
+    @Enumerated(EnumType.STRING)
+    private MailOutboxStatus status;
+
+    private int attemptCount;
+
+    @Column(name = "next_attempt_date_time")
+    private LocalDateTime nextAttemptDateTime;
+
+    //전송을 가져간 dispatcher 실행 단위, 같은 행을 두 번 보내지 않도록 사용
+    private String claimToken;
+
+    private LocalDateTime claimedDateTime;
+
+    private LocalDateTime sentDateTime;
+
+    @Builder
+    private MailOutbox(String fromEmail, String toEmail, String subject, String content,
+                       MailOutboxStatus status, LocalDateTime nextAttemptDateTime) {
+        this.fromEmail = fromEmail;
+        this.toEmail = toEmail;
+        this.subject = subject;
+        this.content = content;
+        this.status = status;
+        this.nextAttemptDateTime = nextAttemptDateTime;
+    }
+
+    public static MailOutbox create(String fromEmail, String toEmail, String subject, String content, LocalDateTime now) {
+        return MailOutbox.builder()
+                .fromEmail(fromEmail)
+                .toEmail(toEmail)
+                .subject(subject)
+                .content(content)
+                .status(MailOutboxStatus.PENDING)
+                .nextAttemptDateTime(now)
+                .build();
+    }
+
+    public void markSent(LocalDateTime sentDateTime) {
+        this.status = MailOutboxStatus.SENT;
+        this.attemptCount++;
+        this.sentDateTime = sentDateTime;
+        this.claimToken = null;
+    }
+
+    //최대 시도 횟수에 도달하면 더 이상 재시도하지 않음
+    public void markFailed(LocalDateTime nextAttemptDateTime, int maxAttempts) {
+        this.attemptCount++;
+        this.status = attemptCount >= maxAttempts ? MailOutboxStatus.FAILED : MailOutboxStatus.PENDING;
+        this.nextAttemptDateTime = nextAttemptDateTime;
+        this.claimToken = null;
+    }
+
+    //보내보지도 못한 경우(메일 서버 보호로 거절) 시도 횟수는 늘리지 않고 대기 상태로 돌림
+    public void defer(LocalDateTime nextAttemptDateTime) {
+        this.status = MailOutboxStatus.PENDING;
+        this.nextAttemptDateTime = nextAttemptDateTime;
+        this.claimToken = null;
+    }
+
+    public MailSendHistory toHistory() {
+        return MailSendHistory.builder()
+                .fromEmail(fromEmail)
+                .toEmail(toEmail)
+                .subject(subject)
+                .content(content)
+                .build();
+    }
+
+}
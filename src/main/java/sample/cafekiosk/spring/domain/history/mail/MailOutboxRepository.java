@@ -0,0 +1,33 @@
+package sample.cafekiosk.spring.domain.history.mail;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    @Query("select m.id from MailOutbox m where m.status = :status and m.nextAttemptDateTime <= :now order by m.id")
+    List<Long> findIdsToDispatch(MailOutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    //아직 대기 중인 행만 가져감, 다른 dispatcher가 먼저 가져간 행은 건너뜀
+    @Modifying(clearAutomatically = true)
+    @Query("update MailOutbox m set m.status = :sending, m.claimToken = :claimToken, m.claimedDateTime = :now " +
+            "where m.id in :ids and m.status = :pending")
+    int claim(Collection<Long> ids, String claimToken, LocalDateTime now, MailOutboxStatus pending, MailOutboxStatus sending);
+
+    List<MailOutbox> findAllByClaimToken(String claimToken);
+
+    //전송 중에 종료되어 남아 있는 행을 다시 대기 상태로 돌림
+    @Modifying(clearAutomatically = true)
+    @Query("update MailOutbox m set m.status = :pending, m.claimToken = null " +
+            "where m.status = :sending and m.claimedDateTime < :expiredBefore")
+    int releaseExpiredClaims(LocalDateTime expiredBefore, MailOutboxStatus pending, MailOutboxStatus sending);
+
+}
@@ -7,11 +7,16 @@ import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.domain.BaseEntity;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSnapshot;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Getter
@@ -31,17 +36,26 @@ public class Order extends BaseEntity {
 
     private LocalDateTime registeredDateTime;
 
+    //결제 완료/취소와 결제 대기 만료가 동시에 같은 주문을 바꾸면 나중에 커밋하는 쪽이 실패하도록 함
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     private List<OrderProduct> orderProducts = new ArrayList<>();
 
     @Builder
     private Order(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
         this.orderStatus = orderStatus;
-        this.totalPrice = calculateTotalPrice(products);
         this.registeredDateTime = registeredDateTime;
-        this.orderProducts = products.stream()
-                .map(product -> new OrderProduct(this, product))
-                .collect(Collectors.toList());
+        this.orderProducts = createOrderProducts(products);
+        this.totalPrice = calculateTotalPrice(orderProducts);
+    }
+
+    private Order(List<ProductSnapshot> products, Function<ProductSnapshot, Product> productResolver, LocalDateTime registeredDateTime) {
+        this.orderStatus = OrderStatus.INIT;
+        this.registeredDateTime = registeredDateTime;
+        this.orderProducts = createOrderProducts(products, productResolver);
+        this.totalPrice = calculateTotalPrice(orderProducts);
     }
 
     public static Order create(List<Product> products, LocalDateTime registeredDateTime) {
@@ -52,9 +66,64 @@ public class Order extends BaseEntity {
                 .build();
     }
 
-    private int calculateTotalPrice(List<Product> products) {
-        return products.stream()
-                .mapToInt(Product::getPrice)
+    //캐시한 상품 값으로 주문 생성, 단가는 상품 값에서 가져오고 주문 상품은 id로 얻은 상품 참조(프록시)를 가리킴
+    public static Order create(List<ProductSnapshot> products, Function<Long, Product> productReference, LocalDateTime registeredDateTime) {
+        return new Order(products, product -> productReference.apply(product.getId()), registeredDateTime);
+    }
+
+    public void completePayment() {
+        validateWaitingForPayment();
+        this.orderStatus = OrderStatus.PAYMENT_COMPLETED;
+    }
+
+    public void failPayment() {
+        validateWaitingForPayment();
+        this.orderStatus = OrderStatus.PAYMENT_FAILED;
+    }
+
+    public void cancel() {
+        validateWaitingForPayment();
+        this.orderStatus = OrderStatus.CANCELED;
+    }
+
+    public boolean isWaitingForPayment() {
+        return this.orderStatus == OrderStatus.INIT;
+    }
+
+    private void validateWaitingForPayment() {
+        if (!isWaitingForPayment()) {
+            throw new IllegalArgumentException("결제 대기 중인 주문이 아닙니다.");
+        }
+    }
+
+    //같은 상품이 여러 번 담겨도 주문 상품은 상품당 한 줄만 만들고 수량으로 표현, 처음 담긴 순서를 유지
+    private List<OrderProduct> createOrderProducts(List<Product> products) {
+        Map<String, Product> entityMap = products.stream()
+                .collect(Collectors.toMap(Product::getProductNumber, product -> product, (first, second) -> first));
+        List<ProductSnapshot> snapshots = products.stream()
+                .map(ProductSnapshot::of)
+                .collect(Collectors.toList());
+
+        return createOrderProducts(snapshots, snapshot -> entityMap.get(snapshot.getProductNumber()));
+    }
+
+    private List<OrderProduct> createOrderProducts(List<ProductSnapshot> products, Function<ProductSnapshot, Product> productResolver) {
+        Map<String, ProductSnapshot> productMap = new LinkedHashMap<>();
+        Map<String, Integer> quantityMap = new HashMap<>();
+        for (ProductSnapshot product : products) {
+            productMap.putIfAbsent(product.getProductNumber(), product);
+            quantityMap.merge(product.getProductNumber(), 1, Integer::sum);
+        }
+
+        return productMap.entrySet().stream()
+                .map(entry -> new OrderProduct(this, productResolver.apply(entry.getValue()),
+                        entry.getValue().getPrice(), quantityMap.get(entry.getKey())))
+                .collect(Collectors.toList());
+    }
+
+    private int calculateTotalPrice(List<OrderProduct> orderProducts) {
+        return orderProducts.stream()
+                .mapToInt(OrderProduct::calculatePrice)
                 .sum();
     }
 
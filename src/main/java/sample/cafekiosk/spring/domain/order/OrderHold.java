@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+//재시작 시 홀드를 다시 등록할 때 필요한 값만 조회 (주문 엔티티를 읽지 않음)
+@Getter
+public class OrderHold {
+
+    private final Long orderId;
+    private final LocalDateTime registeredDateTime;
+
+    public OrderHold(Long orderId, LocalDateTime registeredDateTime) {
+        this.orderId = orderId;
+        this.registeredDateTime = registeredDateTime;
+    }
+
+}
@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+//시간대(0~23)별 결제완료 주문 건수와 매출 합계
+@Getter
+public class OrderHourlySales {
+
+    private final int hour;
+    private final long orderCount;
+    private final long totalAmount;
+
+    public OrderHourlySales(Integer hour, Long orderCount, Long totalAmount) {
+        this.hour = hour;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+
+}
@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+import javax.persistence.*;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class OrderIdempotency extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true)
+    private String idempotencyKey;
+
+    //같은 키로 다른 내용의 주문이 들어왔는지 확인하기 위한 요청 해시
+    private String requestHash;
+
+    private Long orderId;
+
+    @Builder
+    private OrderIdempotency(String idempotencyKey, String requestHash, Long orderId) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.orderId = orderId;
+    }
+
+    public static OrderIdempotency create(String idempotencyKey, String requestHash, Long orderId) {
+        return OrderIdempotency.builder()
+                .idempotencyKey(idempotencyKey)
+                .requestHash(requestHash)
+                .orderId(orderId)
+                .build();
+    }
+
+}
@@ -0,0 +1,20 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface OrderIdempotencyRepository extends JpaRepository<OrderIdempotency, Long> {
+
+    Optional<OrderIdempotency> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from OrderIdempotency o where o.createdDateTime < :expiredBefore")
+    int deleteAllByCreatedDateTimeBefore(LocalDateTime expiredBefore);
+
+}
@@ -1,15 +1,61 @@
 package sample.cafekiosk.spring.domain.order;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    @Query("select o from Order o where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
+    //주문을 엔티티로 읽지 않고 DB에서 합계만 계산
+    @Query("select coalesce(sum(o.totalPrice), 0) from Order o " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
             "and o.orderStatus = :orderStatus")
-    List<Order> findOrdersBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+    long sumTotalPriceBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+
+    @Query("select new sample.cafekiosk.spring.domain.order.OrderHourlySales(hour(o.registeredDateTime), count(o), sum(o.totalPrice)) " +
+            "from Order o " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
+            "and o.orderStatus = :orderStatus " +
+            "group by hour(o.registeredDateTime)")
+    List<OrderHourlySales> findHourlySalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+
+    @Query("select new sample.cafekiosk.spring.domain.order.OrderHold(o.id, o.registeredDateTime) from Order o " +
+            "where o.orderStatus = :orderStatus and o.registeredDateTime >= :registeredFrom")
+    List<OrderHold> findHoldsBy(OrderStatus orderStatus, LocalDateTime registeredFrom);
+
+    @Query("select o.id from Order o where o.orderStatus = :orderStatus and o.registeredDateTime < :registeredBefore " +
+            "order by o.id")
+    List<Long> findIdsBy(OrderStatus orderStatus, LocalDateTime registeredBefore, Pageable pageable);
+
+    //현재 상태가 from일 때만 바꿈, 반환값이 0이면 그 사이 다른 요청이 상태를 바꾼 것
+    //버전도 올려서 같은 주문을 읽어둔 다른 트랜잭션이 커밋할 때 충돌로 실패하게 함
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o set o.orderStatus = :to, o.version = o.version + 1 " +
+            "where o.id = :orderId and o.orderStatus = :from")
+    int changeOrderStatus(Long orderId, OrderStatus from, OrderStatus to);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Order o set o.orderStatus = :to, o.version = o.version + 1 " +
+            "where o.id in :orderIds and o.orderStatus = :from")
+    int changeOrderStatuses(Collection<Long> orderIds, OrderStatus from, OrderStatus to);
+
+    //주문 상품과 상품을 함께 조회해서 OrderResponse를 만들 때 주문 상품마다 추가 쿼리가 나가지 않도록 함
+    @Query("select distinct o from Order o " +
+            "left join fetch o.orderProducts op " +
+            "left join fetch op.product " +
+            "where o.id in :orderIds")
+    List<Order> findAllWithProductsByIdIn(Collection<Long> orderIds);
+
+    @Query("select distinct o from Order o " +
+            "left join fetch o.orderProducts op " +
+            "left join fetch op.product " +
+            "where o.id = :orderId")
+    Optional<Order> findWithProductsById(Long orderId);
 }
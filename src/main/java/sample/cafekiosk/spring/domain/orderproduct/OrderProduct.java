@@ -24,9 +24,21 @@ public class OrderProduct extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     private Product product;
 
-    public OrderProduct(Order order, Product product) {
+    //같은 상품은 한 줄로 묶어서 수량으로 저장, 단가는 주문 시점의 가격
+    private int quantity;
+
+    private int unitPrice;
+
+    //상품이 아직 로딩되지 않은 프록시일 수 있으므로 단가를 따로 받음
+    public OrderProduct(Order order, Product product, int unitPrice, int quantity) {
         this.order = order;
         this.product = product;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public int calculatePrice() {
+        return unitPrice * quantity;
     }
 
 }
@@ -1,8 +1,31 @@
 package sample.cafekiosk.spring.domain.orderproduct;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
+
+    //주문, 상품 엔티티를 읽지 않고 집계에 필요한 값만 fetch size 단위로 읽음, 트랜잭션 안에서 소비해야 함
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select new sample.cafekiosk.spring.domain.orderproduct.OrderSalesLine(" +
+            "op.product.id, hour(o.registeredDateTime), op.quantity, op.unitPrice) " +
+            "from OrderProduct op join op.order o " +
+            "where o.registeredDateTime >= :startDateTime and o.registeredDateTime < :endDateTime " +
+            "and o.orderStatus = :orderStatus")
+    Stream<OrderSalesLine> streamSalesLinesBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+
 }
@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.domain.orderproduct;
+
+import lombok.Getter;
+
+//매출 리포트용 주문 상품 한 줄, 엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않음
+@Getter
+public class OrderSalesLine {
+
+    private final long productId;
+    private final int hour;
+    private final int quantity;
+    private final int unitPrice;
+
+    public OrderSalesLine(Long productId, Integer hour, Integer quantity, Integer unitPrice) {
+        this.productId = productId;
+        this.hour = hour;
+        this.quantity = quantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public long calculateAmount() {
+        return (long) unitPrice * quantity;
+    }
+
+}
@@ -38,4 +38,8 @@ public class Product extends BaseEntity {
         this.price = price;
     }
 
+    public void changeSellingStatus(ProductSellingStatus sellingStatus) {
+        this.sellingStatus = sellingStatus;
+    }
+
 }
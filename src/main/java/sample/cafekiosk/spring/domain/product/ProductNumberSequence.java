@@ -0,0 +1,45 @@
+package sample.cafekiosk.spring.domain.product;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class ProductNumberSequence extends BaseEntity {
+
+    @Id
+    private String name;
+
+    private long nextValue;
+
+    @Builder
+    private ProductNumberSequence(String name, long nextValue) {
+        this.name = name;
+        this.nextValue = nextValue;
+    }
+
+    public static ProductNumberSequence create(String name, long nextValue) {
+        return ProductNumberSequence.builder()
+                .name(name)
+                .nextValue(nextValue)
+                .build();
+    }
+
+    //[반환값, 반환값 + size) 구간의 번호를 예약
+    public long allocate(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("예약할 번호 개수는 양수여야 합니다.");
+        }
+        long start = this.nextValue;
+        this.nextValue += size;
+        return start;
+    }
+
+}
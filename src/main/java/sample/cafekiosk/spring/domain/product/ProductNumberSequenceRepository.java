@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.domain.product;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface ProductNumberSequenceRepository extends JpaRepository<ProductNumberSequence, String> {
+
+    /**
+     * select *
+     * from product_number_sequence
+     * where name = ?
+     * for update;
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductNumberSequence s where s.name = :name")
+    Optional<ProductNumberSequence> findForUpdate(String name);
+
+}
@@ -1,10 +1,18 @@
 package sample.cafekiosk.spring.domain.product;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -16,8 +24,29 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     List<Product> findAllBySellingStatusIn(List<ProductSellingStatus> sellingStatuses);
 
+    /**
+     * select *
+     * from product
+     * where selling_status in ('SELLING', 'HOLD') and id > ?
+     * order by id
+     * limit ?;
+     *
+     * offset 대신 마지막으로 읽은 id 이후부터 읽어서 뒤쪽 페이지도 인덱스 탐색 한 번으로 조회
+     */
+    List<Product> findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc(List<ProductSellingStatus> sellingStatuses, Long id, Pageable pageable);
+
+    //전체 목록을 한 번에 메모리에 올리지 않고 fetch size 단위로 읽음, 트랜잭션 안에서 소비해야 함
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select p from Product p where p.sellingStatus in :sellingStatuses order by p.id")
+    Stream<Product> streamAllBySellingStatusIn(List<ProductSellingStatus> sellingStatuses);
+
     List<Product> findAllByProductNumberIn(List<String> productNumbers);
 
+    Optional<Product> findByProductNumber(String productNumber);
+
     @Query(value = "select p.product_number from product p order by id desc limit 1", nativeQuery = true)
     String findLatestProductNumber();
 
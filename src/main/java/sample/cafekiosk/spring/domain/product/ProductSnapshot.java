@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.domain.product;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 상품 엔티티의 읽기 전용 값
+ * 여러 스레드가 같이 읽어도 되도록 변경할 수 없게 만들고, 영속성 컨텍스트와 무관하게 캐시에 보관할 때 사용한다.
+ */
+@Getter
+public class ProductSnapshot {
+
+    private final Long id;
+    private final String productNumber;
+    private final ProductType type;
+    private final ProductSellingStatus sellingStatus;
+    private final String name;
+    private final int price;
+
+    @Builder
+    private ProductSnapshot(Long id, String productNumber, ProductType type, ProductSellingStatus sellingStatus, String name, int price) {
+        this.id = id;
+        this.productNumber = productNumber;
+        this.type = type;
+        this.sellingStatus = sellingStatus;
+        this.name = name;
+        this.price = price;
+    }
+
+    public static ProductSnapshot of(Product product) {
+        return ProductSnapshot.builder()
+                .id(product.getId())
+                .productNumber(product.getProductNumber())
+                .type(product.getType())
+                .sellingStatus(product.getSellingStatus())
+                .name(product.getName())
+                .price(product.getPrice())
+                .build();
+    }
+
+}
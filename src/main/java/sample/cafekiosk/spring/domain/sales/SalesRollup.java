@@ -0,0 +1,53 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 결제완료 주문의 일별/시간별 매출 집계
+ * 구간(unit, periodStart)마다 한 행만 존재하고, 주문이 결제완료될 때마다 건수와 금액을 더한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"unit", "period_start"}))
+@Entity
+public class SalesRollup extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private SalesRollupUnit unit;
+
+    @Column(name = "period_start")
+    private LocalDateTime periodStart;
+
+    private long orderCount;
+
+    private long totalAmount;
+
+    @Builder
+    private SalesRollup(SalesRollupUnit unit, LocalDateTime periodStart, long orderCount, long totalAmount) {
+        this.unit = unit;
+        this.periodStart = periodStart;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public static SalesRollup create(SalesRollupUnit unit, LocalDateTime periodStart, long orderCount, long totalAmount) {
+        return SalesRollup.builder()
+                .unit(unit)
+                .periodStart(periodStart)
+                .orderCount(orderCount)
+                .totalAmount(totalAmount)
+                .build();
+    }
+
+}
@@ -0,0 +1,31 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    Optional<SalesRollup> findByUnitAndPeriodStart(SalesRollupUnit unit, LocalDateTime periodStart);
+
+    @Query("select r from SalesRollup r where r.unit = :unit " +
+            "and r.periodStart >= :startDateTime and r.periodStart < :endDateTime")
+    List<SalesRollup> findAllBy(SalesRollupUnit unit, LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    //행을 읽지 않고 DB에서 바로 더함, 해당 구간의 행이 아직 없으면 0을 반환
+    @Modifying(clearAutomatically = true)
+    @Query("update SalesRollup r set r.orderCount = r.orderCount + 1, r.totalAmount = r.totalAmount + :amount " +
+            "where r.unit = :unit and r.periodStart = :periodStart")
+    int increase(SalesRollupUnit unit, LocalDateTime periodStart, long amount);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from SalesRollup r where r.periodStart >= :startDateTime and r.periodStart < :endDateTime")
+    int deleteAllByPeriodStartBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+}
@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.domain.sales;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+@Getter
+@RequiredArgsConstructor
+public enum SalesRollupUnit {
+
+    DAY("일별"),
+    HOUR("시간별");
+
+    private final String text;
+
+    //주문 일시가 속한 집계 구간의 시작 시각
+    public LocalDateTime periodStartOf(LocalDateTime dateTime) {
+        return this == DAY
+            ? dateTime.truncatedTo(ChronoUnit.DAYS)
+            : dateTime.truncatedTo(ChronoUnit.HOURS);
+    }
+
+}
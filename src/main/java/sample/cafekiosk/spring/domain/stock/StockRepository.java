@@ -1,8 +1,13 @@
 package sample.cafekiosk.spring.domain.stock;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+
 import java.util.List;
 
 @Repository
@@ -10,4 +15,32 @@ public interface StockRepository extends JpaRepository<Stock, Long> {
 
     List<Stock> findAllByProductNumberIn(List<String> productNumbers);
 
+    //여러 주문을 한 번에 처리할 때 사용, 트랜잭션이 끝날 때까지 다른 주문이 같은 재고를 차감하지 못함
+    //상품번호 순서로 잠가서 배치끼리 잠금 순서가 엇갈리지 않도록 함
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Stock s where s.productNumber in :productNumbers order by s.productNumber")
+    List<Stock> findAllForUpdateByProductNumberIn(List<String> productNumbers);
+
+    /**
+     * update stock
+     * set quantity = quantity - ?
+     * where product_number = ? and quantity >= ?;
+     *
+     * 재고가 충분할 때만 차감되며, 반환값(변경된 row 수)이 0이면 재고 부족
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Stock s set s.quantity = s.quantity - :quantity " +
+            "where s.productNumber = :productNumber and s.quantity >= :quantity")
+    int deductQuantity(String productNumber, int quantity);
+
+    //결제되지 않은 주문이 잡아둔 재고를 되돌릴 때 사용
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Stock s set s.quantity = s.quantity + :quantity where s.productNumber = :productNumber")
+    int restoreQuantity(String productNumber, int quantity);
+
+    //재고 원장(StockLedger)에서 이미 검증한 차감분을 반영할 때 사용
+    @Modifying(clearAutomatically = true)
+    @Query("update Stock s set s.quantity = s.quantity - :quantity where s.productNumber = :productNumber")
+    int applyDeduction(String productNumber, int quantity);
+
 }
@@ -0,0 +1,54 @@
+package sample.cafekiosk.spring.support.collection;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 키별 빈도를 고정된 크기의 카운터 배열로 추정하는 Count-Min sketch
+ * 행마다 다른 해시로 칸을 골라 더하고, 추정치는 모든 행 중 가장 작은 값이다. (실제 빈도보다 작게 나오지 않음)
+ * 카운터는 AtomicLongArray라 여러 스레드가 잠금 없이 동시에 더할 수 있다.
+ */
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+        0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("sketch 깊이는 1 이상 " + SEEDS.length + " 이하여야 합니다.");
+        }
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("sketch 너비는 2의 거듭제곱이어야 합니다.");
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    public void add(String key, long count) {
+        int hash = key.hashCode();
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(indexOf(row, hash), count);
+        }
+    }
+
+    public long estimate(String key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(indexOf(row, hash)));
+        }
+        return min;
+    }
+
+    private int indexOf(int row, int hash) {
+        long h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % SEEDS.length];
+        return row * (mask + 1) + ((int) (h ^ (h >>> 32)) & mask);
+    }
+
+}
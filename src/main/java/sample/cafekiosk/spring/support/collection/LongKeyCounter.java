@@ -0,0 +1,108 @@
+package sample.cafekiosk.spring.support.collection;
+
+/**
+ * long 키별로 수량과 금액을 누적하는 open addressing 해시 테이블
+ * 키와 값을 primitive 배열에 그대로 담아서, 누적할 때 객체(Long, Map.Entry)를 만들지 않는다.
+ */
+public class LongKeyCounter {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] quantities;
+    private long[] amounts;
+    private boolean[] used;
+    private int size;
+
+    public LongKeyCounter() {
+        this(16);
+    }
+
+    public LongKeyCounter(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2, 16) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public void add(long key, long quantity, long amount) {
+        int slot = findSlot(keys, used, key);
+        if (!used[slot]) {
+            used[slot] = true;
+            keys[slot] = key;
+            if (++size > keys.length * LOAD_FACTOR) {
+                resize();
+                slot = findSlot(keys, used, key);
+            }
+        }
+        quantities[slot] += quantity;
+        amounts[slot] += amount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                visitor.visit(keys[i], quantities[i], amounts[i]);
+            }
+        }
+    }
+
+    public long[] keys() {
+        long[] result = new long[size];
+        int index = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                result[index++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldQuantities = quantities;
+        long[] oldAmounts = amounts;
+        boolean[] oldUsed = used;
+
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = findSlot(keys, used, oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                quantities[slot] = oldQuantities[i];
+                amounts[slot] = oldAmounts[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        quantities = new long[capacity];
+        amounts = new long[capacity];
+        used = new boolean[capacity];
+    }
+
+    //linear probing, 비어 있는 칸이나 같은 키가 있는 칸을 반환
+    private static int findSlot(long[] keys, boolean[] used, long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(long key, long quantity, long amount);
+    }
+
+}
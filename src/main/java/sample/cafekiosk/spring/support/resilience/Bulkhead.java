@@ -0,0 +1,53 @@
+package sample.cafekiosk.spring.support.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 외부 호출에 동시에 들어갈 수 있는 스레드 수를 제한
+ * 자리가 없으면 기다리지 않고 바로 거절해서, 느려진 외부 시스템이 호출하는 쪽 스레드를 붙잡지 못하게 한다.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrentCalls;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public Bulkhead(int maxConcurrentCalls) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException("동시 호출 수는 1 이상이어야 합니다.");
+        }
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    //true를 받았으면 호출이 끝난 뒤 반드시 release를 불러야 한다.
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxConcurrentCalls) {
+                rejectedCount.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+}
@@ -0,0 +1,199 @@
+package sample.cafekiosk.spring.support.resilience;
+
+import lombok.Builder;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 실패가 몰리는 외부 호출을 잠시 막는 circuit breaker
+ * CLOSED : 호출을 모두 통과시키고, 최근 windowSize번 중 minimumCalls번 이상 호출했을 때 실패(느린 호출 포함) 비율이 기준을 넘으면 OPEN
+ * OPEN : openDurationMillis 동안 호출을 바로 거절
+ * HALF_OPEN : halfOpenCalls번만 시험 삼아 통과시키고, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ * 상태는 불변 객체 하나를 CAS로 바꿔 끼우므로 잠금 없이 여러 스레드가 함께 쓸 수 있다.
+ */
+public class CircuitBreaker {
+
+    public enum Status {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final int windowSize;
+    private final long openDurationMillis;
+    private final int halfOpenCalls;
+    private final long slowCallMillis;
+    private final LongSupplier clock;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.closed());
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder openedCount = new LongAdder();
+
+    @Builder
+    private CircuitBreaker(int failureRateThreshold, int minimumCalls, int windowSize, long openDurationMillis,
+                           int halfOpenCalls, long slowCallMillis, LongSupplier clock) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("실패 비율 기준은 1 이상 100 이하여야 합니다.");
+        }
+        if (minimumCalls <= 0 || windowSize < minimumCalls) {
+            throw new IllegalArgumentException("집계 구간은 최소 호출 수보다 작을 수 없습니다.");
+        }
+        if (halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("시험 호출 수는 1 이상이어야 합니다.");
+        }
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.windowSize = windowSize;
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenCalls = halfOpenCalls;
+        this.slowCallMillis = slowCallMillis;
+        this.clock = clock == null ? System::currentTimeMillis : clock;
+    }
+
+    /**
+     * 호출해도 되는지 확인하고 자리를 잡는다. true를 받았으면 호출 후 반드시 onSuccess 또는 onFailure를 불러야 한다.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            State current = state.get();
+            State next;
+            switch (current.status) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (clock.getAsLong() - current.openedAtMillis < openDurationMillis) {
+                        rejectedCount.increment();
+                        return false;
+                    }
+                    next = State.halfOpen(1, 0);
+                    break;
+                default:
+                    if (current.calls >= halfOpenCalls) {
+                        rejectedCount.increment();
+                        return false;
+                    }
+                    next = State.halfOpen(current.calls + 1, current.successes);
+            }
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    //지금 호출하면 받아줄 상태인지만 확인 (자리는 잡지 않음)
+    public boolean isCallPermitted() {
+        State current = state.get();
+        switch (current.status) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return clock.getAsLong() - current.openedAtMillis >= openDurationMillis;
+            default:
+                return current.calls < halfOpenCalls;
+        }
+    }
+
+    //slowCallMillis보다 오래 걸린 호출은 성공했어도 실패로 셈 (0이면 보지 않음)
+    public void onSuccess(long elapsedMillis) {
+        if (slowCallMillis > 0 && elapsedMillis >= slowCallMillis) {
+            record(false);
+            return;
+        }
+        record(true);
+    }
+
+    public void onFailure() {
+        record(false);
+    }
+
+    public Status getStatus() {
+        return state.get().status;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getOpenedCount() {
+        return openedCount.sum();
+    }
+
+    public void reset() {
+        state.set(State.closed());
+    }
+
+    private void record(boolean success) {
+        while (true) {
+            State current = state.get();
+            State next;
+            switch (current.status) {
+                case CLOSED:
+                    next = nextClosed(current, success);
+                    break;
+                case HALF_OPEN:
+                    //calls는 시험 호출로 통과시킨 수, successes는 그중 성공한 수
+                    if (!success) {
+                        next = State.open(clock.getAsLong());
+                    } else if (current.successes + 1 >= halfOpenCalls) {
+                        next = State.closed();
+                    } else {
+                        next = State.halfOpen(current.calls, current.successes + 1);
+                    }
+                    break;
+                default:
+                    //OPEN 되기 전에 시작한 호출의 결과는 무시
+                    return;
+            }
+            if (state.compareAndSet(current, next)) {
+                if (next.status == Status.OPEN) {
+                    openedCount.increment();
+                }
+                return;
+            }
+        }
+    }
+
+    private State nextClosed(State current, boolean success) {
+        int calls = current.calls + 1;
+        int failures = current.failures + (success ? 0 : 1);
+        if (calls >= minimumCalls && failures * 100 >= failureRateThreshold * calls) {
+            return State.open(clock.getAsLong());
+        }
+        //집계 구간이 차면 새로 셈
+        if (calls >= windowSize) {
+            return State.closed();
+        }
+        return new State(Status.CLOSED, calls, failures, 0, 0);
+    }
+
+    private static class State {
+        private final Status status;
+        private final int calls;
+        private final int failures;
+        private final int successes;
+        private final long openedAtMillis;
+
+        private State(Status status, int calls, int failures, int successes, long openedAtMillis) {
+            this.status = status;
+            this.calls = calls;
+            this.failures = failures;
+            this.successes = successes;
+            this.openedAtMillis = openedAtMillis;
+        }
+
+        private static State closed() {
+            return new State(Status.CLOSED, 0, 0, 0, 0);
+        }
+
+        private static State open(long openedAtMillis) {
+            return new State(Status.OPEN, 0, 0, 0, openedAtMillis);
+        }
+
+        private static State halfOpen(int calls, int successes) {
+            return new State(Status.HALF_OPEN, calls, 0, successes, 0);
+        }
+    }
+
+}
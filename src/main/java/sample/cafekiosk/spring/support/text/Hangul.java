@@ -0,0 +1,72 @@
+package sample.cafekiosk.spring.support.text;
+
+/**
+ * 한글 음절을 자모로 분해하는 유틸
+ * 음절 = 0xAC00 + (초성 * 21 + 중성) * 28 + 종성
+ */
+public final class Hangul {
+
+    private static final char SYLLABLE_BEGIN = 0xAC00;
+    private static final char SYLLABLE_END = 0xD7A3;
+
+    private static final String CHOSEONG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String JUNGSEONG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    //겹받침은 두 자음으로 나눠서 "달"로 "닭"을, "갑"으로 "값"을 찾을 수 있게 함
+    private static final String[] JONGSEONG = {
+        "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+        "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+    private static final String COMPOUND_JONGSEONG = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄ";
+    private static final String[] SPLIT_COMPOUND_JONGSEONG = {
+        "ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ"
+    };
+
+    private Hangul() {
+    }
+
+    //"라떼" -> "ㄹㅏㄸㅔ", "닭" -> "ㄷㅏㄹㄱ", 한글 음절이 아닌 문자는 그대로 둠 (따로 입력한 겹받침 자모도 나눔)
+    public static String toJamo(String text) {
+        StringBuilder sb = new StringBuilder(text.length() * 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!isSyllable(c)) {
+                int compound = COMPOUND_JONGSEONG.indexOf(c);
+                sb.append(compound < 0 ? String.valueOf(c) : SPLIT_COMPOUND_JONGSEONG[compound]);
+                continue;
+            }
+            int offset = c - SYLLABLE_BEGIN;
+            sb.append(CHOSEONG.charAt(offset / (21 * 28)));
+            sb.append(JUNGSEONG.charAt(offset % (21 * 28) / 28));
+            sb.append(JONGSEONG[offset % 28]);
+        }
+        return sb.toString();
+    }
+
+    //"아메리카노" -> "ㅇㅁㄹㅋㄴ", 한글 음절이 아닌 문자는 그대로 둠
+    public static String toChoseong(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            sb.append(isSyllable(c) ? CHOSEONG.charAt((c - SYLLABLE_BEGIN) / (21 * 28)) : c);
+        }
+        return sb.toString();
+    }
+
+    //초성(자음)으로만 이루어진 문자열인지
+    public static boolean isChoseongOnly(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (CHOSEONG.indexOf(text.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BEGIN && c <= SYLLABLE_END;
+    }
+
+}
@@ -8,12 +8,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBatchCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.service.order.OrderIdempotencyService;
+import sample.cafekiosk.spring.api.service.order.OrderIngestionService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -30,6 +39,12 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @MockBean
+    private OrderIngestionService orderIngestionService;
+
     @DisplayName("신규 주문을 등록한다")
     @Test
     void createOrder() throws Exception{
@@ -53,6 +68,50 @@ class OrderControllerTest {
 
     }
 
+    @DisplayName("Idempotency-Key 헤더가 있으면 멱등 처리 서비스로 주문을 등록한다")
+    @Test
+    void createOrderWithIdempotencyKey() throws Exception{
+        //given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        //when
+        mockMvc.perform(
+                post("/api/v1/orders/new")
+                        .header("Idempotency-Key", "order-key-1")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andDo(print())
+                .andExpect(status().isOk());
+
+        //then
+        verify(orderIdempotencyService).createOrder(eq("order-key-1"), any(), any());
+        verifyNoInteractions(orderService);
+    }
+
+    @DisplayName("주문 대기열이 가득 차면 비동기 주문 등록은 503으로 거절된다")
+    @Test
+    void createOrderAsyncWhenQueueIsFull() throws Exception{
+        //given
+        OrderCreateRequest request = OrderCreateRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        when(orderIngestionService.submit(any(), any()))
+                .thenThrow(new RejectedExecutionException("주문이 많아 잠시 후 다시 시도해주세요."));
+
+        //when //then
+        mockMvc.perform(
+                post("/api/v1/orders/async")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("503"))
+                .andExpect(jsonPath("$.status").value("SERVICE_UNAVAILABLE"))
+                .andExpect(jsonPath("$.message").value("주문이 많아 잠시 후 다시 시도해주세요."));
+    }
+
     @DisplayName("신규 주문을 등록할 때 상품번호는 1개 이상이어야 한다.")
     @Test
     void createOrderWithEmptyProductNumbers() throws Exception{
@@ -74,4 +133,46 @@ class OrderControllerTest {
         //then
 
     }
+
+    @DisplayName("여러 주문을 한 번에 등록한다")
+    @Test
+    void createOrders() throws Exception{
+        //given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+                .orders(List.of(
+                        OrderCreateRequest.builder().productNumbers(List.of("001")).build(),
+                        OrderCreateRequest.builder().productNumbers(List.of("002")).build()
+                ))
+                .build();
+
+        //when //then
+        mockMvc.perform(
+                post("/api/v1/orders/batch")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("200"))
+                .andExpect(jsonPath("$.status").value("OK"))
+                .andExpect(jsonPath("$.message").value("OK"));
+    }
+
+    @DisplayName("여러 주문을 한 번에 등록할 때 각 주문의 상품번호는 1개 이상이어야 한다.")
+    @Test
+    void createOrdersWithEmptyProductNumbers() throws Exception{
+        //given
+        OrderBatchCreateRequest request = OrderBatchCreateRequest.builder()
+                .orders(List.of(OrderCreateRequest.builder().productNumbers(List.of()).build()))
+                .build();
+
+        //when //then
+        mockMvc.perform(
+                post("/api/v1/orders/batch")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("400"))
+                .andExpect(jsonPath("$.message").value("상품 번호 리스트는 필수입니다."));
+    }
 }
\ No newline at end of file
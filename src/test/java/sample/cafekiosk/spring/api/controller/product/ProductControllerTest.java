@@ -6,9 +6,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.dto.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.controller.product.dto.request.ProductSellingStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.product.ProductCatalogCache;
+import sample.cafekiosk.spring.api.service.product.ProductImportService;
+import sample.cafekiosk.spring.api.service.product.ProductSearchIndex;
 import sample.cafekiosk.spring.api.service.product.ProductService;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
@@ -17,10 +23,14 @@ import sample.cafekiosk.spring.domain.product.ProductType;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +45,15 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductCatalogCache productCatalogCache;
+
+    @MockBean
+    private ProductImportService productImportService;
+
+    @MockBean
+    private ProductSearchIndex productSearchIndex;
+
     @DisplayName("신규 상품을 등록한다")
     @Test
     void creatProduct() throws Exception{
@@ -111,8 +130,10 @@ class ProductControllerTest {
     void test() throws Exception {
         //given
         //result를 만들어 두고 Mockbean으로 등록한 메서드들 중 when을 이용해서 어떤 메서드가 호출시 어떤 응답을 하라는 것을 명시가능
+        //판매 상품 목록은 미리 직렬화된 캐시에서 내려가므로 캐시를 stubbing
         List<ProductResponse> result = List.of();
-        when(productService.getSellingProducts()).thenReturn(result);
+        when(productCatalogCache.getSellingProducts())
+                .thenReturn(new ProductCatalogCache.Snapshot(1L, objectMapper.writeValueAsBytes(ApiResponse.ok(result))));
 
         //when
         mockMvc.perform(
@@ -127,4 +148,69 @@ class ProductControllerTest {
         //then
 
     }
-}
\ No newline at end of file
+
+    @DisplayName("판매 상품 목록의 ETag가 바뀌지 않았으면 목록을 내려주지 않고 304로 응답한다.")
+    @Test
+    void getSellingProductsNotModified() throws Exception {
+        //given
+        when(productCatalogCache.getETag()).thenReturn("\"7\"");
+
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/products/selling")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"7\"")
+        ).andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""));
+
+        verify(productCatalogCache, never()).getSellingProducts();
+        verifyNoInteractions(productService);
+    }
+
+    @DisplayName("판매 상품 목록의 ETag가 바뀌었으면 새 목록과 ETag를 내려준다.")
+    @Test
+    void getSellingProductsModified() throws Exception {
+        //given
+        ProductCatalogCache.Snapshot snapshot =
+                new ProductCatalogCache.Snapshot(8L, objectMapper.writeValueAsBytes(ApiResponse.ok(List.of())));
+        when(productCatalogCache.getETag()).thenReturn(snapshot.getETag());
+        when(productCatalogCache.getSellingProducts()).thenReturn(snapshot);
+
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/products/selling")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"7\"")
+        ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"8\""))
+                .andExpect(jsonPath("$.data").isArray());
+    }
+
+    @DisplayName("상품 판매상태를 변경할 때 판매상태는 필수값이다.")
+    @Test
+    void changeSellingStatusWithoutSellingStatus() throws Exception {
+        //given
+        ProductSellingStatusChangeRequest request = ProductSellingStatusChangeRequest.builder().build();
+
+        //when //then
+        mockMvc.perform(
+                post("/api/v1/products/001/selling-status")
+                        .content(objectMapper.writeValueAsString(request))
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("상품 판매상태는 필수입니다."));
+    }
+
+    @DisplayName("상품을 검색할 때 검색어는 필수값이다.")
+    @Test
+    void searchProductsWithoutKeyword() throws Exception {
+        //when //then
+        mockMvc.perform(
+                get("/api/v1/products/search")
+                        .param("keyword", " ")
+        ).andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("검색어는 필수입니다."));
+    }
+}
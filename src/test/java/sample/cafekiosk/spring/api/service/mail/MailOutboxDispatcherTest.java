@@ -0,0 +1,145 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxStatus;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.support.resilience.CircuitBreaker;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class MailOutboxDispatcherTest {
+
+    @Autowired
+    private MailService mailService;
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+    @Autowired
+    private MailSendHistoryWriter mailSendHistoryWriter;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private MailSendHistoryRepository mailSendHistoryRepository;
+    @Autowired
+    private MailSendGuard mailSendGuard;
+
+    @MockBean
+    private MailSendClient mailSendClient;
+
+    @AfterEach
+    void tearDown() {
+        mailSendGuard.reset();
+        mailOutboxRepository.deleteAllInBatch();
+        mailSendHistoryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("메일 요청은 outbox에 저장만 하고, dispatch할 때 전송 후 히스토리를 남긴다.")
+    @Test
+    void dispatch() {
+        // given
+        when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
+                .thenReturn(true);
+        mailService.sendMail("no-reply@cafekiosk.com", "a@test.com", "제목", "내용1");
+        mailService.sendMail("no-reply@cafekiosk.com", "b@test.com", "제목", "내용2");
+        assertThat(mailSendHistoryRepository.findAll()).isEmpty();
+
+        // when
+        int dispatched = mailOutboxDispatcher.dispatch();
+        mailSendHistoryWriter.flush();
+
+        // then
+        assertThat(dispatched).isEqualTo(2);
+        assertThat(mailOutboxRepository.findAll())
+                .extracting("toEmail", "status", "attemptCount")
+                .containsExactlyInAnyOrder(
+                        tuple("a@test.com", MailOutboxStatus.SENT, 1),
+                        tuple("b@test.com", MailOutboxStatus.SENT, 1)
+                );
+        assertThat(mailSendHistoryRepository.findAll())
+                .extracting("toEmail", "content")
+                .containsExactlyInAnyOrder(
+                        tuple("a@test.com", "내용1"),
+                        tuple("b@test.com", "내용2")
+                );
+    }
+
+    @DisplayName("메일 주소에 줄바꿈이 있으면 outbox에 저장하지 않고 예외가 발생한다.")
+    @Test
+    void sendMailWithInjectedAddress() {
+        // when // then
+        assertThatThrownBy(() -> mailService.sendMail("no-reply@cafekiosk.com", "a@test.com\r\nBcc: b@test.com", "제목", "내용"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("올바르지 않은 메일 주소입니다.");
+        assertThatThrownBy(() -> mailService.sendMails("no-reply@cafekiosk.com", List.of("a@test.com", "b@test.com>\nDATA"), "제목", "내용"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("올바르지 않은 메일 주소입니다.");
+        assertThat(mailOutboxRepository.findAll()).isEmpty();
+    }
+
+    @DisplayName("전송에 실패한 메일은 대기 상태로 돌리고 backoff 시간이 지나기 전에는 다시 보내지 않는다.")
+    @Test
+    void dispatchWithFailure() {
+        // given
+        when(mailSendClient.sendEmail(any(String.class), eq("a@test.com"), any(String.class), any(String.class)))
+                .thenThrow(new IllegalArgumentException("메일 전송"));
+        mailService.sendMail("no-reply@cafekiosk.com", "a@test.com", "제목", "내용");
+        LocalDateTime beforeDispatch = LocalDateTime.now();
+
+        // when
+        int firstDispatched = mailOutboxDispatcher.dispatch();
+        int secondDispatched = mailOutboxDispatcher.dispatch();
+
+        // then
+        assertThat(firstDispatched).isEqualTo(1);
+        assertThat(secondDispatched).isZero();
+        List<MailOutbox> outboxes = mailOutboxRepository.findAll();
+        assertThat(outboxes)
+                .extracting("status", "attemptCount")
+                .containsExactly(tuple(MailOutboxStatus.PENDING, 1));
+        assertThat(outboxes.get(0).getNextAttemptDateTime()).isAfter(beforeDispatch);
+        assertThat(mailSendHistoryRepository.findAll()).isEmpty();
+    }
+
+    @DisplayName("메일 서버 실패가 이어져 circuit이 열리면 outbox에서 메일을 꺼내지 않고, 시도 횟수도 늘리지 않는다.")
+    @Test
+    void dispatchWhenCircuitOpen() {
+        // given
+        when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
+                .thenThrow(new IllegalArgumentException("메일 전송"));
+        IntStream.range(0, 10)
+                .forEach(i -> mailService.sendMail("no-reply@cafekiosk.com", "user" + i + "@test.com", "제목", "내용"));
+        mailOutboxDispatcher.dispatch();
+        mailService.sendMail("no-reply@cafekiosk.com", "late@test.com", "제목", "내용");
+
+        // when
+        int dispatched = mailOutboxDispatcher.dispatch();
+
+        // then
+        assertThat(dispatched).isZero();
+        assertThat(mailSendGuard.getMetrics().getCircuitStatus()).isEqualTo(CircuitBreaker.Status.OPEN);
+        assertThat(mailOutboxRepository.findAll())
+                .filteredOn("toEmail", "late@test.com")
+                .extracting("status", "attemptCount")
+                .containsExactly(tuple(MailOutboxStatus.PENDING, 0));
+    }
+
+}
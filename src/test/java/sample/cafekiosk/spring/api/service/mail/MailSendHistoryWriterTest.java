@@ -0,0 +1,81 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class MailSendHistoryWriterTest {
+
+    @Autowired
+    private MailSendHistoryWriter mailSendHistoryWriter;
+    @Autowired
+    private MailSendHistoryRepository mailSendHistoryRepository;
+
+    @AfterEach
+    void tearDown() {
+        mailSendHistoryWriter.flush();
+        mailSendHistoryRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("히스토리는 버퍼에 모아두었다가 flush할 때 한 번에 저장한다.")
+    @Test
+    void flush() {
+        // given
+        mailSendHistoryWriter.write(List.of(createHistory("a@test.com"), createHistory("b@test.com")));
+        assertThat(mailSendHistoryRepository.findAll()).isEmpty();
+
+        // when
+        int written = mailSendHistoryWriter.flush();
+
+        // then
+        assertThat(written).isEqualTo(2);
+        assertThat(mailSendHistoryRepository.findAll())
+                .extracting("toEmail", "subject")
+                .containsExactlyInAnyOrder(
+                        tuple("a@test.com", "제목"),
+                        tuple("b@test.com", "제목")
+                );
+        assertThat(mailSendHistoryRepository.findAll())
+                .allSatisfy(history -> assertThat(history.getCreatedDateTime()).isNotNull());
+    }
+
+    @DisplayName("버퍼에 flush 크기만큼 쌓이면 바로 저장한다.")
+    @Test
+    void writeOverFlushSize() {
+        // given
+        List<MailSendHistory> histories = IntStream.range(0, 500)
+                .mapToObj(i -> createHistory("user" + i + "@test.com"))
+                .collect(Collectors.toList());
+
+        // when
+        mailSendHistoryWriter.write(histories);
+
+        // then
+        assertThat(mailSendHistoryRepository.count()).isEqualTo(500);
+        assertThat(mailSendHistoryWriter.flush()).isZero();
+    }
+
+    private MailSendHistory createHistory(String toEmail) {
+        return MailSendHistory.builder()
+                .fromEmail("no-reply@cafekiosk.com")
+                .toEmail(toEmail)
+                .subject("제목")
+                .content("내용")
+                .build();
+    }
+
+}
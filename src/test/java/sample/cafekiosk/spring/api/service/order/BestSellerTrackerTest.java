@@ -0,0 +1,78 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.service.order.response.BestSellerResponse;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BestSellerTrackerTest {
+
+    private static final long MINUTE = 60_000;
+
+    @DisplayName("최근 기간 동안 많이 팔린 상품 순서로 원하는 개수만큼 조회한다.")
+    @Test
+    void getBestSellers() {
+        // given
+        BestSellerTracker tracker = new BestSellerTracker();
+        long now = 100 * MINUTE;
+        tracker.record(now - 20 * MINUTE, List.of("003", "003", "003", "003"));
+        tracker.record(now - 2 * MINUTE, List.of("001", "002"));
+        tracker.record(now - MINUTE, List.of("001", "001"));
+        tracker.record(now, List.of("002"));
+
+        // when
+        List<BestSellerResponse> bestSellers = tracker.getBestSellers(now, 5, 2);
+
+        // then
+        assertThat(bestSellers)
+                .extracting("productNumber", "estimatedQuantity")
+                .containsExactly(
+                        tuple("001", 3L),
+                        tuple("002", 2L)
+                );
+    }
+
+    @DisplayName("상품 종류가 후보 칸보다 많아도 많이 팔린 상품은 순위에 남는다.")
+    @Test
+    void getBestSellersWithManyProducts() {
+        // given
+        BestSellerTracker tracker = new BestSellerTracker();
+        long now = 100 * MINUTE;
+        List<String> hotProducts = List.of("hot-1", "hot-2", "hot-3");
+        for (int i = 0; i < 50; i++) {
+            tracker.record(now, hotProducts);
+        }
+        List<String> coldProducts = IntStream.range(0, 5000)
+                .mapToObj(i -> String.format("%04d", i))
+                .collect(Collectors.toList());
+        tracker.record(now, coldProducts);
+
+        // when
+        List<BestSellerResponse> bestSellers = tracker.getBestSellers(now, 1, 3);
+
+        // then
+        assertThat(bestSellers)
+                .extracting("productNumber")
+                .containsExactlyInAnyOrder("hot-1", "hot-2", "hot-3");
+    }
+
+    @DisplayName("조회 기간은 60분을 넘을 수 없다.")
+    @Test
+    void getBestSellersWithTooLongWindow() {
+        // given
+        BestSellerTracker tracker = new BestSellerTracker();
+
+        // when // then
+        assertThatThrownBy(() -> tracker.getBestSellers(0, 61, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("조회 기간은 1분 이상 60분 이하여야 합니다.");
+    }
+
+}
@@ -0,0 +1,38 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.service.order.response.LiveSalesResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class LiveSalesMetricsTest {
+
+    @DisplayName("최근 1분, 5분, 1시간, 1일 단위로 결제완료 매출을 집계한다.")
+    @Test
+    void getLiveSales() {
+        // given
+        LiveSalesMetrics liveSalesMetrics = new LiveSalesMetrics();
+        long now = 2 * 24 * 60 * 60 * 1000L;
+        liveSalesMetrics.record(now - 2 * 60 * 60 * 1000L, 10000, 3);
+        liveSalesMetrics.record(now - 10 * 60 * 1000L, 8000, 2);
+        liveSalesMetrics.record(now - 2 * 60 * 1000L, 4500, 1);
+        liveSalesMetrics.record(now - 1000L, 12000, 3);
+
+        // when
+        LiveSalesResponse response = liveSalesMetrics.getLiveSales(now);
+
+        // then
+        assertThat(response.getWindows())
+                .extracting("name", "orderCount", "revenue", "itemCount")
+                .containsExactly(
+                        tuple("1m", 1L, 12000L, 3L),
+                        tuple("5m", 2L, 16500L, 4L),
+                        tuple("1h", 3L, 24500L, 6L),
+                        tuple("1d", 4L, 34500L, 9L)
+                );
+        assertThat(response.getWindows().get(0).getItemsPerSecond()).isEqualTo(3 / 60.0);
+    }
+
+}
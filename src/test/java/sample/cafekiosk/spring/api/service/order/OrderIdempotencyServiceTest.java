@@ -0,0 +1,127 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+class OrderIdempotencyServiceTest {
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private OrderIdempotencyRepository orderIdempotencyRepository;
+
+    @DisplayName("같은 Idempotency-Key로 다시 요청하면 주문을 새로 만들지 않고 이전 응답을 돌려준다.")
+    @Test
+    void createOrderWithSameKey(){
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product product = Product.builder()
+                .productNumber("001")
+                .type(ProductType.BOTTLE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build();
+        productRepository.save(product);
+        stockRepository.save(Stock.create("001", 2));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        // when
+        OrderResponse first = orderIdempotencyService.createOrder("order-key-1", request, registeredDateTime);
+        OrderResponse retried = orderIdempotencyService.createOrder("order-key-1", request, registeredDateTime);
+
+        // then
+        assertThat(retried.getId()).isEqualTo(first.getId());
+        assertThat(orderRepository.findAll()).hasSize(1);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 1));
+    }
+
+    @DisplayName("같은 Idempotency-Key로 다른 상품을 주문하면 이전 응답을 돌려주지 않고 예외가 발생한다.")
+    @Test
+    void createOrderWithSameKeyAndDifferentRequest(){
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product product1 = createProduct("001", 4000);
+        Product product2 = createProduct("002", 4500);
+        productRepository.saveAll(List.of(product1, product2));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        OrderCreateServiceRequest otherRequest = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "002"))
+                .build();
+        orderIdempotencyService.createOrder("order-key-2", request, registeredDateTime);
+
+        // when // then
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder("order-key-2", otherRequest, registeredDateTime))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("같은 Idempotency-Key로 다른 주문을 요청할 수 없습니다.");
+        assertThat(orderRepository.findAll()).hasSize(1);
+    }
+
+    @DisplayName("보관 기간이 지난 Idempotency-Key를 삭제한다.")
+    @Test
+    void purgeKeysCreatedBefore(){
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        productRepository.save(createProduct("001", 4000));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        orderIdempotencyService.createOrder("order-key-3", request, registeredDateTime);
+
+        // when
+        int deleted = orderIdempotencyService.purgeKeysCreatedBefore(LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(orderIdempotencyRepository.findByIdempotencyKey("order-key-3")).isEmpty();
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 이름")
+                .price(price)
+                .build();
+    }
+
+}
@@ -0,0 +1,121 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductNearCache;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderIngestionServiceTest {
+    @Autowired
+    private OrderIngestionService orderIngestionService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private ProductNearCache productNearCache;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        productNearCache.clear();
+    }
+
+    @DisplayName("대기열에 넣은 주문들이 처리되면 주문별로 결과를 돌려받는다.")
+    @Test
+    void submit() throws Exception {
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product product = Product.builder()
+                .productNumber("001")
+                .type(ProductType.BOTTLE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build();
+        productRepository.save(product);
+        stockRepository.save(Stock.create("001", 2));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+
+        // when
+        List<CompletableFuture<OrderResponse>> futures = List.of(
+                orderIngestionService.submit(request, registeredDateTime),
+                orderIngestionService.submit(request, registeredDateTime),
+                orderIngestionService.submit(request, registeredDateTime)
+        );
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .handle((result, e) -> null)
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        //writer 스레드가 여러 개라 어느 주문이 재고를 가져갈지는 정해지지 않음
+        assertThat(futures).filteredOn(future -> !future.isCompletedExceptionally()).hasSize(2);
+        assertThat(futures).filteredOn(CompletableFuture::isCompletedExceptionally).hasSize(1)
+                .first()
+                .satisfies(future -> assertThatThrownBy(future::join)
+                        .hasRootCauseInstanceOf(IllegalArgumentException.class)
+                        .hasRootCauseMessage("재고가 부족한 상품이 있습니다."));
+
+        assertThat(orderRepository.findAll()).hasSize(2);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 0));
+    }
+
+    @DisplayName("종료할 때 처리되지 못하고 대기열에 남은 주문은 거절로 완료되고, 종료 후 들어온 주문은 바로 거절된다.")
+    @Test
+    void stopWithPendingOrders() throws Exception {
+        // given
+        //writer 없이 띄워서 대기열에 들어간 주문이 처리되지 않고 남아 있게 함
+        OrderIngestionService ingestionService = new OrderIngestionService(null, 10, 0, 10);
+        ingestionService.start();
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        CompletableFuture<OrderResponse> pending = ingestionService.submit(request, LocalDateTime.now());
+
+        // when
+        ingestionService.stop();
+
+        // then
+        assertThatThrownBy(() -> pending.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(() -> ingestionService.submit(request, LocalDateTime.now()))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+}
@@ -0,0 +1,156 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.SalesPartitionUnit;
+import sample.cafekiosk.spring.api.service.order.response.OrderSalesStatisticsResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.SalesRollup;
+import sample.cafekiosk.spring.domain.sales.SalesRollupRepository;
+import sample.cafekiosk.spring.domain.sales.SalesRollupUnit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+//구간별 집계는 별도 스레드의 트랜잭션에서 실행되므로 테스트 데이터를 커밋해두고 직접 지움
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderRangeStatisticsServiceTest {
+
+    @Autowired
+    private OrderRangeStatisticsService orderRangeStatisticsService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @AfterEach
+    void tearDown() {
+        salesRollupRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("기간을 월요일부터 시작하는 주 단위로 나눠 결제완료 매출을 집계하고 합친다.")
+    @Test
+    void getSalesStatisticsByWeek() {
+        // given
+        Product product = productRepository.save(createProduct(4000));
+        orderRepository.saveAll(List.of(
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 2, 23, 59)),
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 3, 0, 0)),
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 9, 12, 0)),
+                createOrder(product, OrderStatus.CANCELED, LocalDateTime.of(2023, 4, 9, 12, 0)),
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 13, 0, 0))
+        ));
+
+        // when
+        OrderSalesStatisticsResponse response = orderRangeStatisticsService.getSalesStatistics(
+                LocalDate.of(2023, 4, 1), LocalDate.of(2023, 4, 12), SalesPartitionUnit.WEEK);
+
+        // then
+        assertThat(response.getOrderCount()).isEqualTo(3);
+        assertThat(response.getTotalAmount()).isEqualTo(12000);
+        assertThat(response.getPartitions())
+                .extracting("from", "to", "orderCount", "totalAmount")
+                .containsExactly(
+                        tuple(LocalDate.of(2023, 4, 1), LocalDate.of(2023, 4, 2), 1L, 4000L),
+                        tuple(LocalDate.of(2023, 4, 3), LocalDate.of(2023, 4, 9), 2L, 8000L),
+                        tuple(LocalDate.of(2023, 4, 10), LocalDate.of(2023, 4, 12), 0L, 0L)
+                );
+    }
+
+    @DisplayName("일 단위로 나누면 날짜마다 한 구간씩 집계한다.")
+    @Test
+    void getSalesStatisticsByDay() {
+        // given
+        Product product = productRepository.save(createProduct(4000));
+        orderRepository.save(createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 2, 10, 0)));
+
+        // when
+        OrderSalesStatisticsResponse response = orderRangeStatisticsService.getSalesStatistics(
+                LocalDate.of(2023, 4, 1), LocalDate.of(2023, 4, 3), SalesPartitionUnit.DAY);
+
+        // then
+        assertThat(response.getPartitions())
+                .extracting("from", "orderCount")
+                .containsExactly(
+                        tuple(LocalDate.of(2023, 4, 1), 0L),
+                        tuple(LocalDate.of(2023, 4, 2), 1L),
+                        tuple(LocalDate.of(2023, 4, 3), 0L)
+                );
+    }
+
+    @DisplayName("일별 매출 집계가 있는 날짜는 집계 행을 읽고, 집계가 없는 날짜만 주문에서 계산한다.")
+    @Test
+    void getSalesStatisticsWithDailyRollup() {
+        // given
+        Product product = productRepository.save(createProduct(4000));
+        orderRepository.saveAll(List.of(
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 3, 10, 0)),
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 4, 10, 0)),
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 5, 10, 0))
+        ));
+        //집계 행과 주문을 다르게 만들어서 어느 쪽을 읽었는지 구분
+        salesRollupRepository.save(SalesRollup.create(SalesRollupUnit.DAY, LocalDateTime.of(2023, 4, 4, 0, 0), 5, 20000));
+
+        // when
+        OrderSalesStatisticsResponse response = orderRangeStatisticsService.getSalesStatistics(
+                LocalDate.of(2023, 4, 3), LocalDate.of(2023, 4, 5), SalesPartitionUnit.WEEK);
+
+        // then
+        assertThat(response.getPartitions())
+                .extracting("orderCount", "totalAmount")
+                .containsExactly(tuple(7L, 28000L));
+    }
+
+    @DisplayName("조회 기간은 최대 366일이다.")
+    @Test
+    void getSalesStatisticsWithTooLongRange() {
+        // when // then
+        assertThatThrownBy(() -> orderRangeStatisticsService.getSalesStatistics(
+                LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 2), SalesPartitionUnit.WEEK))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("조회 기간은 최대 366일입니다.");
+    }
+
+    private Order createOrder(Product product, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
+        return Order.builder()
+                .products(List.of(product))
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build();
+    }
+
+    private Product createProduct(int price) {
+        return Product.builder()
+                .productNumber("001")
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(price)
+                .build();
+    }
+
+}
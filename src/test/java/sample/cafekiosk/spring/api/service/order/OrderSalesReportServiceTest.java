@@ -0,0 +1,102 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.response.OrderSalesReportResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+class OrderSalesReportServiceTest {
+
+    @Autowired
+    private OrderSalesReportService orderSalesReportService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DisplayName("기간 내 결제완료 주문의 매출을 상품별, 시간대별로 집계한다.")
+    @Test
+    void getSalesReport() {
+        // given
+        Product americano = createProduct("001", "아메리카노", 4000);
+        Product latte = createProduct("002", "카페라떼", 4500);
+        productRepository.saveAll(List.of(americano, latte));
+
+        orderRepository.saveAll(List.of(
+                createOrder(List.of(americano, americano, latte), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 1, 9, 10)),
+                createOrder(List.of(latte), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 2, 9, 50)),
+                createOrder(List.of(americano), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 2, 13, 0)),
+                createOrder(List.of(latte), OrderStatus.CANCELED, LocalDateTime.of(2023, 4, 2, 13, 0)),
+                createOrder(List.of(latte), OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 3, 0, 0))
+        ));
+
+        // when
+        OrderSalesReportResponse report = orderSalesReportService.getSalesReport(LocalDate.of(2023, 4, 1), LocalDate.of(2023, 4, 2));
+
+        // then
+        assertThat(report.getTotalQuantity()).isEqualTo(5);
+        assertThat(report.getTotalAmount()).isEqualTo(21000);
+        assertThat(report.getProducts())
+                .extracting("productNumber", "name", "quantity", "amount")
+                .containsExactly(
+                        tuple("001", "아메리카노", 3L, 12000L),
+                        tuple("002", "카페라떼", 2L, 9000L)
+                );
+        assertThat(report.getHours()).hasSize(24)
+                .filteredOn(hourlySales -> hourlySales.getQuantity() > 0)
+                .extracting("hour", "quantity", "amount")
+                .containsExactly(
+                        tuple(9, 4L, 17000L),
+                        tuple(13, 1L, 4000L)
+                );
+    }
+
+    @DisplayName("시작일이 종료일보다 늦으면 리포트를 만들 수 없다.")
+    @Test
+    void getSalesReportWithInvalidRange() {
+        // when // then
+        assertThatThrownBy(() -> orderSalesReportService.getSalesReport(LocalDate.of(2023, 4, 2), LocalDate.of(2023, 4, 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("시작일은 종료일보다 늦을 수 없습니다.");
+    }
+
+    private Order createOrder(List<Product> products, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
+        return Order.builder()
+                .products(products)
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build();
+    }
+
+    private Product createProduct(String productNumber, String name, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .price(price)
+                .build();
+    }
+
+}
@@ -0,0 +1,118 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
+import sample.cafekiosk.spring.api.service.product.ProductNearCache;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//여러 키오스크가 동시에 같은 재고를 주문하는 상황, 트랜잭션이 실제로 커밋되어야 해서 @Transactional을 쓰지 않음
+@ActiveProfiles("test")
+@SpringBootTest
+class OrderServiceConcurrencyTest {
+
+    private static final int THREAD_COUNT = 16;
+    private static final int INITIAL_QUANTITY = 10;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private ProductNearCache productNearCache;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        productNearCache.clear();
+    }
+
+    @DisplayName("여러 스레드가 동시에 같은 재고로 단건, 일괄 주문을 해도 성공한 수량만큼만 차감되고 재고는 음수가 되지 않는다.")
+    @Test
+    void createOrdersConcurrently() throws Exception {
+        // given
+        productRepository.save(Product.builder()
+                .productNumber("001")
+                .type(ProductType.BOTTLE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("병 음료")
+                .price(1000)
+                .build());
+        stockRepository.save(Stock.create("001", INITIAL_QUANTITY));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            boolean batch = i % 2 == 0;
+            results.add(executor.submit(() -> {
+                start.await();
+                if (batch) {
+                    return (int) orderService.createOrders(List.of(request, request), registeredDateTime).stream()
+                            .filter(OrderBatchResponse::isSuccess)
+                            .count();
+                }
+                try {
+                    orderService.createOrder(request, registeredDateTime);
+                    return 1;
+                } catch (IllegalArgumentException e) {
+                    return 0;
+                }
+            }));
+        }
+        start.countDown();
+
+        int successCount = 0;
+        for (Future<Integer> result : results) {
+            successCount += result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        int finalQuantity = stockRepository.findAllByProductNumberIn(List.of("001")).get(0).getQuantity();
+        assertThat(successCount).isEqualTo(INITIAL_QUANTITY);
+        assertThat(finalQuantity).isEqualTo(INITIAL_QUANTITY - successCount)
+                .isGreaterThanOrEqualTo(0);
+        assertThat(orderRepository.count()).isEqualTo(successCount);
+    }
+
+}
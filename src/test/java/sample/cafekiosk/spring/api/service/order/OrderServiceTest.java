@@ -9,8 +9,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderBatchResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
@@ -174,6 +176,118 @@ class OrderServiceTest {
                 .hasMessage("재고가 부족한 상품이 있습니다.");
 
     }
+
+    @DisplayName("여러 주문을 한 번에 생성하고, 재고가 부족한 주문만 실패로 기록")
+    @Test
+    void createOrders(){
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product p1 = getProduct("001", ProductType.BOTTLE, ProductSellingStatus.SELLING, "아메리카노", 4000);
+        Product p2 = getProduct("002", ProductType.HANDMADE, ProductSellingStatus.SELLING, "카푸치노", 5000);
+        productRepository.saveAll(List.of(p1, p2));
+
+        Stock stock = Stock.create("001", 2);
+        stockRepository.save(stock);
+
+        OrderCreateServiceRequest request1 = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "002"))
+                .build();
+        OrderCreateServiceRequest request2 = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "001"))
+                .build();
+        OrderCreateServiceRequest request3 = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        OrderCreateServiceRequest request4 = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("999"))
+                .build();
+
+        // when
+        List<OrderBatchResponse> responses = orderService.createOrders(
+                List.of(request1, request2, request3, request4), registeredDateTime);
+
+        // then
+        assertThat(responses).hasSize(4)
+                .extracting("index", "success", "failureMessage")
+                .containsExactly(
+                        tuple(0, true, null),
+                        tuple(1, false, "재고가 부족한 상품이 있습니다."),
+                        tuple(2, true, null),
+                        tuple(3, false, "존재하지 않는 상품이 있습니다.")
+                );
+        assertThat(responses.get(0).getOrder().getTotalPrice()).isEqualTo(9000);
+
+        List<Stock> stocks = stockRepository.findAll();
+        assertThat(stocks).hasSize(1)
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 0));
+    }
+
+    @DisplayName("결제 대기 중인 주문을 취소하면 잡아둔 재고를 되돌린다.")
+    @Test
+    void cancelOrder(){
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product p1 = getProduct("001", ProductType.BOTTLE, ProductSellingStatus.SELLING, "아메리카노", 4000);
+        Product p2 = getProduct("002", ProductType.HANDMADE, ProductSellingStatus.SELLING, "카푸치노", 5000);
+        productRepository.saveAll(List.of(p1, p2));
+
+        Stock stock = Stock.create("001", 2);
+        stockRepository.save(stock);
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "001", "002"))
+                .build();
+        OrderResponse orderResponse = orderService.createOrder(request, registeredDateTime);
+
+        // when
+        orderService.cancelOrder(orderResponse.getId());
+
+        // then
+        assertThat(orderRepository.findById(orderResponse.getId()))
+                .get()
+                .extracting("orderStatus")
+                .isEqualTo(OrderStatus.CANCELED);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 2));
+    }
+
+    @DisplayName("결제가 완료된 주문은 재고를 되돌리지 않는다.")
+    @Test
+    void completePayment(){
+        // given
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+
+        Product p1 = getProduct("001", ProductType.BOTTLE, ProductSellingStatus.SELLING, "아메리카노", 4000);
+        productRepository.save(p1);
+
+        Stock stock = Stock.create("001", 2);
+        stockRepository.save(stock);
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        OrderResponse orderResponse = orderService.createOrder(request, registeredDateTime);
+
+        // when
+        orderService.completePayment(orderResponse.getId());
+
+        // then
+        assertThat(orderRepository.findById(orderResponse.getId()))
+                .get()
+                .extracting("orderStatus")
+                .isEqualTo(OrderStatus.PAYMENT_COMPLETED);
+        assertThatThrownBy(() -> orderService.cancelOrder(orderResponse.getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("결제 대기 중인 주문이 아닙니다.");
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactly(tuple("001", 1));
+    }
+
     private static Product getProduct(String productNumber, ProductType productType, ProductSellingStatus status,
                                       String name, int price) {
         return Product.builder()
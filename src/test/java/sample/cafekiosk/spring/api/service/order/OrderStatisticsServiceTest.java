@@ -6,7 +6,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.mail.MailOutboxDispatcher;
+import sample.cafekiosk.spring.api.service.mail.MailSendHistoryWriter;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailOutboxRepository;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
 import sample.cafekiosk.spring.domain.order.Order;
@@ -20,14 +24,19 @@ import sample.cafekiosk.spring.domain.product.ProductType;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
+//메일은 outbox에 쌓이고 테스트에서 dispatch()로 직접 보냄 (test 프로필은 자동 전송을 끔)
+@ActiveProfiles("test")
 @SpringBootTest
 class OrderStatisticsServiceTest {
     @Autowired
@@ -45,6 +54,15 @@ class OrderStatisticsServiceTest {
     @Autowired
     private MailSendHistoryRepository mailSendHistoryRepository;
 
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+
+    @Autowired
+    private MailSendHistoryWriter mailSendHistoryWriter;
+
     // @MockBean을 사용해 Mock객체로 기존의 컴포넌트를 갈아치워줌
     @MockBean
     private MailSendClient mailSendClient;
@@ -56,6 +74,7 @@ class OrderStatisticsServiceTest {
         orderRepository.deleteAllInBatch();
         productRepository.deleteAllInBatch();
         mailSendHistoryRepository.deleteAllInBatch();
+        mailOutboxRepository.deleteAllInBatch();
     }
 
     @DisplayName("결제완료 주문들을 조회하여 매출 통계 메일을 전송한다.")
@@ -88,10 +107,12 @@ class OrderStatisticsServiceTest {
                 .thenReturn(true);
 
         // when
-        boolean result = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        Long outboxId = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), "test@test.com");
+        mailOutboxDispatcher.dispatch();
+        mailSendHistoryWriter.flush();
 
         // then
-        assertThat(result).isTrue();
+        assertThat(outboxId).isNotNull();
 
         List<MailSendHistory> histories = mailSendHistoryRepository.findAll();
         assertThat(histories).hasSize(1)
@@ -99,6 +120,47 @@ class OrderStatisticsServiceTest {
                 .contains("총 매출 합계는 12000 원입니다.");
     }
 
+    @DisplayName("매출 통계를 한 번 계산해서 여러 수신자에게 같은 메일을 보내고, 중복된 수신자는 한 번만 보낸다.")
+    @Test
+    void sendOrderStatisticsMailToRecipients() {
+        // given
+        Product product1 = createProduct(HANDMADE, "001", 1000);
+        Product product2 = createProduct(HANDMADE, "002", 2000);
+        List<Product> products = List.of(product1, product2);
+        productRepository.saveAll(products);
+
+        createPaymentCompletedOrder(LocalDateTime.of(2023, 3, 5, 10, 0), products);
+
+        when(mailSendClient.sendEmail(any(String.class), any(String.class), any(String.class), any(String.class)))
+                .thenReturn(true);
+
+        // when
+        Map<String, Long> outboxIds = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5),
+                List.of("a@test.com", "b@test.com", "a@test.com"));
+        mailOutboxDispatcher.dispatch();
+        mailSendHistoryWriter.flush();
+
+        // then
+        assertThat(outboxIds).containsOnlyKeys("a@test.com", "b@test.com");
+        assertThat(mailOutboxRepository.findById(outboxIds.get("b@test.com")))
+                .hasValueSatisfying(outbox -> assertThat(outbox.getToEmail()).isEqualTo("b@test.com"));
+        assertThat(mailSendHistoryRepository.findAll()).hasSize(2)
+                .extracting("toEmail", "subject", "content")
+                .containsExactlyInAnyOrder(
+                        tuple("a@test.com", "[매출통계] 2023-03-05", "총 매출 합계는 3000 원입니다."),
+                        tuple("b@test.com", "[매출통계] 2023-03-05", "총 매출 합계는 3000 원입니다.")
+                );
+    }
+
+    @DisplayName("매출 통계 메일의 수신자가 없으면 예외가 발생한다.")
+    @Test
+    void sendOrderStatisticsMailWithoutRecipients() {
+        // when // then
+        assertThatThrownBy(() -> orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 3, 5), List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("메일 수신자는 1명 이상이어야 합니다.");
+    }
+
     private Order createPaymentCompletedOrder(LocalDateTime now, List<Product> products) {
         Order order = Order.builder()
                 .products(products)
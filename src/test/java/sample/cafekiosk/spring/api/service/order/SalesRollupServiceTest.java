@@ -0,0 +1,169 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductNearCache;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.sales.SalesRollupRepository;
+import sample.cafekiosk.spring.domain.sales.SalesRollupUnit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class SalesRollupServiceTest {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductNearCache productNearCache;
+
+    @AfterEach
+    void tearDown() {
+        salesRollupRepository.deleteAllInBatch();
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        productNearCache.clear();
+    }
+
+    @DisplayName("주문이 결제완료되면 주문 일시가 속한 일별, 시간별 집계에 건수와 금액을 더한다.")
+    @Test
+    void recordWhenPaymentCompleted() {
+        // given
+        productRepository.save(createProduct("001", 4000));
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001", "001"))
+                .build();
+        OrderResponse order1 = orderService.createOrder(request, LocalDateTime.of(2023, 4, 1, 10, 30));
+        OrderResponse order2 = orderService.createOrder(request, LocalDateTime.of(2023, 4, 1, 11, 5));
+        orderService.createOrder(request, LocalDateTime.of(2023, 4, 1, 11, 10));
+
+        // when
+        orderService.completePayment(order1.getId());
+        orderService.completePayment(order2.getId());
+
+        // then
+        assertThat(salesRollupService.getDailyTotalAmount(LocalDate.of(2023, 4, 1))).isEqualTo(16000);
+        assertThat(salesRollupRepository.findAll())
+                .extracting("unit", "periodStart", "orderCount", "totalAmount")
+                .containsExactlyInAnyOrder(
+                        tuple(SalesRollupUnit.DAY, LocalDateTime.of(2023, 4, 1, 0, 0), 2L, 16000L),
+                        tuple(SalesRollupUnit.HOUR, LocalDateTime.of(2023, 4, 1, 10, 0), 1L, 8000L),
+                        tuple(SalesRollupUnit.HOUR, LocalDateTime.of(2023, 4, 1, 11, 0), 1L, 8000L)
+                );
+    }
+
+    @DisplayName("지정한 날짜의 집계를 결제완료 주문 기준으로 다시 만든다.")
+    @Test
+    void rebuild() {
+        // given
+        Product product = productRepository.save(createProduct("001", 4000));
+        orderRepository.saveAll(List.of(
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 1, 9, 0)),
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 1, 9, 59)),
+                createOrder(product, OrderStatus.CANCELED, LocalDateTime.of(2023, 4, 1, 12, 0)),
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 2, 0, 0))
+        ));
+
+        // when
+        salesRollupService.rebuild(LocalDate.of(2023, 4, 1), LocalDate.of(2023, 4, 1));
+
+        // then
+        assertThat(salesRollupRepository.findAll())
+                .extracting("unit", "periodStart", "orderCount", "totalAmount")
+                .containsExactlyInAnyOrder(
+                        tuple(SalesRollupUnit.DAY, LocalDateTime.of(2023, 4, 1, 0, 0), 2L, 8000L),
+                        tuple(SalesRollupUnit.HOUR, LocalDateTime.of(2023, 4, 1, 9, 0), 2L, 8000L)
+                );
+    }
+
+    @DisplayName("결제가 더 들어올 수 있는 오늘 집계는 다시 만들지 않아서, 재집계를 요청한 사이에 반영된 결제를 잃지 않는다.")
+    @Test
+    void rebuildToday() {
+        // given
+        productRepository.save(createProduct("001", 4000));
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+        OrderResponse order1 = orderService.createOrder(request, now);
+        OrderResponse order2 = orderService.createOrder(request, now);
+        orderService.completePayment(order1.getId());
+
+        // when
+        assertThatThrownBy(() -> salesRollupService.rebuild(now.toLocalDate(), now.toLocalDate()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("아직 결제가 반영될 수 있는 날짜의 집계는 다시 만들 수 없습니다.");
+        orderService.completePayment(order2.getId());
+
+        // then
+        assertThat(salesRollupService.getDailyTotalAmount(now.toLocalDate())).isEqualTo(8000);
+    }
+
+    @DisplayName("집계가 없는 날짜는 결제완료 주문에서 합계를 계산한다.")
+    @Test
+    void getDailyTotalAmountWithoutRollup() {
+        // given
+        Product product = productRepository.save(createProduct("001", 4000));
+        orderRepository.saveAll(List.of(
+                createOrder(product, OrderStatus.PAYMENT_COMPLETED, LocalDateTime.of(2023, 4, 1, 9, 0)),
+                createOrder(product, OrderStatus.INIT, LocalDateTime.of(2023, 4, 1, 10, 0))
+        ));
+
+        // when
+        long totalAmount = salesRollupService.getDailyTotalAmount(LocalDate.of(2023, 4, 1));
+
+        // then
+        assertThat(totalAmount).isEqualTo(4000);
+        assertThat(salesRollupRepository.findAll()).isEmpty();
+    }
+
+    private Order createOrder(Product product, OrderStatus orderStatus, LocalDateTime registeredDateTime) {
+        return Order.builder()
+                .products(List.of(product))
+                .orderStatus(orderStatus)
+                .registeredDateTime(registeredDateTime)
+                .build();
+    }
+
+    private Product createProduct(String productNumber, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(price)
+                .build();
+    }
+
+}
@@ -0,0 +1,58 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeBucketRingTest {
+
+    @DisplayName("최근 구간의 버킷만 더한다.")
+    @Test
+    void sum() {
+        // given
+        TimeBucketRing ring = new TimeBucketRing(1000, 10);
+        ring.add(1_000, 1, 4000, 2);
+        ring.add(5_500, 1, 4500, 1);
+        ring.add(5_900, 1, 3000, 1);
+
+        // when
+        TimeBucketRing.Totals totals = ring.sum(6_000, 3);
+
+        // then
+        assertThat(totals)
+                .extracting("orderCount", "amount", "itemCount")
+                .containsExactly(2L, 7500L, 2L);
+    }
+
+    @DisplayName("한 바퀴가 지나 같은 칸을 다시 쓰면 지난 구간의 값은 사라진다.")
+    @Test
+    void reuseBucketAfterOneRound() {
+        // given
+        TimeBucketRing ring = new TimeBucketRing(1000, 10);
+        ring.add(1_000, 1, 4000, 2);
+
+        // when
+        ring.add(11_000, 1, 1000, 1);
+
+        // then
+        assertThat(ring.sum(11_000, 10))
+                .extracting("orderCount", "amount", "itemCount")
+                .containsExactly(1L, 1000L, 1L);
+    }
+
+    @DisplayName("한 바퀴 이상 늦게 도착한 기록은 버린다.")
+    @Test
+    void dropTooLateRecord() {
+        // given
+        TimeBucketRing ring = new TimeBucketRing(1000, 10);
+        ring.add(11_000, 1, 1000, 1);
+
+        // when
+        ring.add(1_000, 1, 4000, 2);
+
+        // then
+        assertThat(ring.sum(11_000, 10).getOrderCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,60 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductCatalogCacheTest {
+    @Autowired
+    private ProductCatalogCache productCatalogCache;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("상품이 바뀌지 않으면 같은 응답 바이트를 재사용하고, 상품이 등록되면 새 버전으로 다시 만든다.")
+    @Test
+    void getSellingProducts() throws Exception {
+        // given
+        ProductCatalogCache.Snapshot before = productCatalogCache.getSellingProducts();
+
+        // when
+        ProductCatalogCache.Snapshot cached = productCatalogCache.getSellingProducts();
+        productService.createProduct(ProductCreateServiceRequest.builder()
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build());
+        ProductCatalogCache.Snapshot after = productCatalogCache.getSellingProducts();
+
+        // then
+        assertThat(cached).isSameAs(before);
+        assertThat(after.getVersion()).isGreaterThan(before.getVersion());
+
+        JsonNode data = objectMapper.readTree(after.getBody()).get("data");
+        assertThat(data).hasSize(1);
+        assertThat(data.get(0).get("name").asText()).isEqualTo("아메리카노");
+    }
+
+}
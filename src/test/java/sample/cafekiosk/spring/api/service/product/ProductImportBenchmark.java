@@ -0,0 +1,68 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportFormat;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 일괄 등록 처리량 측정, ./gradlew benchmark 로 실행
+ * 생성한 CSV ROW_COUNT행을 chunk 단위 batch insert로 저장하는 데 걸린 시간을 출력한다.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductImportBenchmark {
+
+    private static final int ROW_COUNT = 100_000;
+
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductNearCache productNearCache;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNearCache.clear();
+    }
+
+    @DisplayName("CSV 10만 행 일괄 등록 처리량")
+    @Test
+    void importProducts() throws IOException {
+        String csv = createCsv();
+
+        long start = System.nanoTime();
+        ProductImportResponse response = productImportService.importProducts(
+                new BufferedReader(new StringReader(csv)), ProductImportFormat.CSV);
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertThat(response.getSuccessCount()).isEqualTo(ROW_COUNT);
+        assertThat(response.getFailedChunk()).isNull();
+        assertThat(productRepository.count()).isEqualTo(ROW_COUNT);
+        System.out.printf("rows : %d | %.2f sec | %.0f rows/sec%n", ROW_COUNT, seconds, ROW_COUNT / seconds);
+    }
+
+    private String createCsv() {
+        StringBuilder csv = new StringBuilder("type,sellingStatus,name,price\n");
+        for (int i = 0; i < ROW_COUNT; i++) {
+            csv.append("HANDMADE,SELLING,메뉴").append(i).append(',').append(1000 + i % 9000).append('\n');
+        }
+        return csv.toString();
+    }
+
+}
@@ -0,0 +1,62 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportFormat;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//chunk마다 커밋되는지 확인해야 해서 @Transactional을 쓰지 않고, chunk를 2행으로 작게 잡음
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.product.import-chunk-size=2")
+class ProductImportChunkFailureTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductNearCache productNearCache;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNearCache.clear();
+    }
+
+    @DisplayName("chunk 저장이 실패하면 멈추고, 앞서 커밋된 행 수와 실패한 chunk의 행 범위를 돌려준다.")
+    @Test
+    void importProductsWithFailedChunk() throws IOException {
+        //given
+        String csv = "type,sellingStatus,name,price\n" +
+                "HANDMADE,SELLING,아메리카노,4000\n" +
+                "HANDMADE,SELLING,카페라떼,4500\n" +
+                "BAKERY,SELLING,크루아상,3500\n" +
+                "HANDMADE,SELLING," + "가".repeat(300) + ",5000\n" +
+                "BOTTLE,SELLING,생수,1000\n";
+
+        //when
+        ProductImportResponse response = productImportService.importProducts(
+                new BufferedReader(new StringReader(csv)), ProductImportFormat.CSV);
+
+        //then
+        assertThat(response.getSuccessCount()).isEqualTo(2);
+        assertThat(response.getFailedChunk())
+                .extracting("startLineNumber", "endLineNumber")
+                .containsExactly(4, 5);
+        assertThat(productRepository.findAll())
+                .extracting("name")
+                .containsExactlyInAnyOrder("아메리카노", "카페라떼");
+    }
+
+}
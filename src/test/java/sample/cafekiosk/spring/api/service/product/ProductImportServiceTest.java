@@ -0,0 +1,85 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.request.ProductImportFormat;
+import sample.cafekiosk.spring.api.service.product.response.ProductImportResponse;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import javax.transaction.Transactional;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @DisplayName("CSV 파일로 상품을 일괄 등록하고, 잘못된 행은 행 번호와 사유를 남긴다.")
+    @Test
+    void importProductsWithCsv() throws IOException {
+        //given
+        String csv = "type,sellingStatus,name,price\n" +
+                "HANDMADE,SELLING,아메리카노,4000\n" +
+                "HANDMADE,SELLING,카페라떼\n" +
+                "BAKERY,SELLING,크루아상,-100\n" +
+                "BOTTLE,HOLD,생수,1000\n";
+
+        //when
+        ProductImportResponse response = productImportService.importProducts(
+                new BufferedReader(new StringReader(csv)), ProductImportFormat.CSV);
+
+        //then
+        Assertions.assertThat(response.getSuccessCount()).isEqualTo(2);
+        Assertions.assertThat(response.getFailureCount()).isEqualTo(2);
+        Assertions.assertThat(response.getErrors())
+                .extracting("lineNumber", "message")
+                .containsExactly(
+                        Tuple.tuple(3, "잘못된 형식의 행입니다."),
+                        Tuple.tuple(4, "상품 가격은 양수여야 합니다.")
+                );
+        Assertions.assertThat(productRepository.findAll())
+                .extracting("type", "sellingStatus", "name", "price")
+                .containsExactlyInAnyOrder(
+                        Tuple.tuple(ProductType.HANDMADE, ProductSellingStatus.SELLING, "아메리카노", 4000),
+                        Tuple.tuple(ProductType.BOTTLE, ProductSellingStatus.HOLD, "생수", 1000)
+                );
+    }
+
+    @DisplayName("NDJSON 파일로 상품을 일괄 등록하면 상품번호는 중복 없이 발급된다.")
+    @Test
+    void importProductsWithNdjson() throws IOException {
+        //given
+        String ndjson = "{\"type\":\"HANDMADE\",\"sellingStatus\":\"SELLING\",\"name\":\"아메리카노\",\"price\":4000}\n" +
+                "{\"type\":\"HANDMADE\",\"sellingStatus\":\"SELLING\",\"name\":\"카푸치노\",\"price\":5000}\n" +
+                "{\"type\":\"HANDMADE\",\"name\":\"카페라떼\",\"price\":4500}\n";
+
+        //when
+        ProductImportResponse response = productImportService.importProducts(
+                new BufferedReader(new StringReader(ndjson)), ProductImportFormat.NDJSON);
+
+        //then
+        Assertions.assertThat(response.getSuccessCount()).isEqualTo(2);
+        Assertions.assertThat(response.getErrors())
+                .extracting("lineNumber", "message")
+                .containsExactly(Tuple.tuple(3, "상품 판매상태는 필수입니다."));
+        Assertions.assertThat(productRepository.findAll())
+                .extracting("productNumber")
+                .hasSize(2)
+                .doesNotHaveDuplicates();
+    }
+
+}
@@ -0,0 +1,82 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductSnapshot;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class ProductNearCacheTest {
+    @Autowired
+    private ProductNearCache productNearCache;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNearCache.clear();
+    }
+
+    @DisplayName("한 번 읽은 상품은 DB를 다시 조회하지 않고 캐시에서 가져온다.")
+    @Test
+    void findAllByProductNumberInFromCache() {
+        // given
+        productRepository.saveAll(List.of(
+                createProduct("001", "아메리카노"),
+                createProduct("002", "카페라떼")
+        ));
+        productNearCache.findAllByProductNumberIn(List.of("001"));
+
+        // DB에서 지워도 캐시에 남은 상품은 조회됨
+        productRepository.deleteAllInBatch();
+
+        // when
+        Map<String, ProductSnapshot> productMap = productNearCache.findAllByProductNumberIn(List.of("001", "002"));
+
+        // then
+        assertThat(productMap).containsOnlyKeys("001");
+        assertThat(productMap.get("001").getName()).isEqualTo("아메리카노");
+    }
+
+    @DisplayName("상품의 판매상태가 바뀌면 캐시에서 지우고 다음 조회 때 바뀐 상품을 읽는다.")
+    @Test
+    void invalidateWhenProductChanged() {
+        // given
+        productRepository.save(createProduct("001", "아메리카노"));
+        productNearCache.findAllByProductNumberIn(List.of("001"));
+
+        // when
+        productService.changeSellingStatus("001", ProductSellingStatus.STOP_SELLING);
+        Map<String, ProductSnapshot> productMap = productNearCache.findAllByProductNumberIn(List.of("001"));
+
+        // then
+        assertThat(productMap.get("001").getSellingStatus()).isEqualTo(ProductSellingStatus.STOP_SELLING);
+    }
+
+    private Product createProduct(String productNumber, String name) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name(name)
+                .price(4000)
+                .build();
+    }
+
+}
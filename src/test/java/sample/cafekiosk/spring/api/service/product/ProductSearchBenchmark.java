@@ -0,0 +1,81 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.service.product.request.ProductSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 상품 10만 개를 색인한 상태에서 검색어 종류별 평균, p99 응답 시간 측정, ./gradlew benchmark 로 실행
+ * 목표는 검색 한 번에 1ms 미만
+ */
+@Tag("benchmark")
+class ProductSearchBenchmark {
+
+    private static final int PRODUCT_COUNT = 100_000;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    private static final String[] PREFIXES = {"", "아이스 ", "따뜻한 ", "디카페인 ", "바닐라 ", "헤이즐넛 ", "시나몬 ", "흑당 ", "제주 말차 ", "딸기 "};
+    private static final String[] MENUS = {"아메리카노", "카페라떼", "카푸치노", "콜드브루", "밀크티", "크루아상", "치즈 케이크", "닭가슴살 샌드위치", "생수", "에이드"};
+    private static final String[] SIZES = {"", " 톨", " 그란데", " 벤티", " 미니"};
+
+    @DisplayName("상품 10만 개에서 검색어 종류별 검색 시간")
+    @Test
+    void searchLatency() {
+        ProductSearchIndex productSearchIndex = new ProductSearchIndex(null);
+        productSearchIndex.index(createProducts());
+
+        System.out.println("검색어 | 결과 수 | 평균(us) | p99(us)");
+        //"제주 말차 라떼"는 2-gram은 모두 흔하지만 실제로 포함하는 상품은 없어서, 후보를 모두 확인해야 하는 경우
+        for (String keyword : new String[]{"라떼", "카페ㄹ", "ㅇㅁㄹ", "ㅋ", "ㅏ", "달", "제주 말차 카페라떼", "제주 말차 라떼", "없는메뉴"}) {
+            ProductSearchServiceRequest request = ProductSearchServiceRequest.builder()
+                    .keyword(keyword)
+                    .size(20)
+                    .build();
+            for (int i = 0; i < WARMUP; i++) {
+                productSearchIndex.search(request);
+            }
+
+            long[] elapsed = new long[ITERATIONS];
+            int resultCount = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                resultCount = productSearchIndex.search(request).size();
+                elapsed[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(elapsed);
+
+            if (!keyword.equals("없는메뉴") && !keyword.equals("제주 말차 라떼")) {
+                assertThat(resultCount).isPositive();
+            }
+            System.out.printf("%s | %d | %.1f | %.1f%n",
+                    keyword, resultCount, Arrays.stream(elapsed).average().orElse(0) / 1000, elapsed[ITERATIONS * 99 / 100] / 1000.0);
+        }
+    }
+
+    private List<ProductResponse> createProducts() {
+        List<ProductResponse> products = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            String name = PREFIXES[i % PREFIXES.length] + MENUS[i / PREFIXES.length % MENUS.length] + SIZES[i / 100 % SIZES.length];
+            products.add(ProductResponse.builder()
+                    .productNumber(String.format("%06d", i + 1))
+                    .type(ProductType.HANDMADE)
+                    .sellingStatus(ProductSellingStatus.SELLING)
+                    .name(name)
+                    .price(4000)
+                    .build());
+        }
+        return products;
+    }
+
+}
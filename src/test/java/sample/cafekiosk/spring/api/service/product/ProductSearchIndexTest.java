@@ -0,0 +1,124 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sample.cafekiosk.spring.api.service.product.request.ProductSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(null);
+        productSearchIndex.index(List.of(
+                createProduct("001", ProductType.HANDMADE, ProductSellingStatus.SELLING, "아메리카노"),
+                createProduct("002", ProductType.HANDMADE, ProductSellingStatus.SELLING, "카페라떼"),
+                createProduct("003", ProductType.HANDMADE, ProductSellingStatus.STOP_SELLING, "바닐라 라떼"),
+                createProduct("004", ProductType.BAKERY, ProductSellingStatus.SELLING, "크루아상"),
+                createProduct("005", ProductType.BAKERY, ProductSellingStatus.SELLING, "닭가슴살 샌드위치")
+        ));
+    }
+
+    @DisplayName("상품 이름의 일부로 검색한다.")
+    @Test
+    void searchWithPartialName() {
+        // when
+        List<ProductResponse> products = search("라떼", null, null);
+
+        // then
+        assertThat(products).extracting("productNumber").containsExactly("002", "003");
+    }
+
+    @DisplayName("입력 중인 음절(받침, 다음 자음)까지 포함해서 검색한다.")
+    @Test
+    void searchWithIncompleteSyllable() {
+        // when
+        List<ProductResponse> products = search("카페ㄹ", null, null);
+
+        // then
+        assertThat(products).extracting("productNumber").containsExactly("002");
+    }
+
+    @DisplayName("겹받침이 있는 음절은 앞 받침까지만 입력해도 검색된다.")
+    @Test
+    void searchWithCompoundJongseong() {
+        // when
+        List<ProductResponse> products = search("달", null, null);
+
+        // then
+        assertThat(products).extracting("productNumber").containsExactly("005");
+    }
+
+    @DisplayName("자모 한 글자로도 검색한다.")
+    @Test
+    void searchWithSingleJamo() {
+        // when
+        List<ProductResponse> products = search("ㅟ", null, null);
+
+        // then
+        assertThat(products).extracting("productNumber").containsExactly("005");
+    }
+
+    @DisplayName("초성으로 검색한다.")
+    @Test
+    void searchWithChoseong() {
+        // when
+        List<ProductResponse> products = search("ㅇㅁㄹ", null, null);
+
+        // then
+        assertThat(products).extracting("productNumber").containsExactly("001");
+    }
+
+    @DisplayName("판매상태와 상품 타입으로 검색 결과를 거른다.")
+    @Test
+    void searchWithFilters() {
+        // when
+        List<ProductResponse> selling = search("라떼", ProductSellingStatus.SELLING, null);
+        List<ProductResponse> bakery = search("ㅋ", null, ProductType.BAKERY);
+
+        // then
+        assertThat(selling).extracting("productNumber").containsExactly("002");
+        assertThat(bakery).extracting("productNumber").containsExactly("004");
+    }
+
+    @DisplayName("이미 색인된 상품이 바뀌면 이전 이름으로는 더 이상 검색되지 않는다.")
+    @Test
+    void reindexChangedProduct() {
+        // when
+        productSearchIndex.index(List.of(
+                createProduct("002", ProductType.HANDMADE, ProductSellingStatus.SELLING, "카푸치노")));
+
+        // then
+        assertThat(search("라떼", null, null)).extracting("productNumber").containsExactly("003");
+        assertThat(search("카푸", null, null)).extracting("productNumber").containsExactly("002");
+    }
+
+    private List<ProductResponse> search(String keyword, ProductSellingStatus sellingStatus, ProductType type) {
+        return productSearchIndex.search(ProductSearchServiceRequest.builder()
+                .keyword(keyword)
+                .sellingStatus(sellingStatus)
+                .type(type)
+                .size(20)
+                .build());
+    }
+
+    private ProductResponse createProduct(String productNumber, ProductType type, ProductSellingStatus sellingStatus, String name) {
+        return ProductResponse.builder()
+                .productNumber(productNumber)
+                .type(type)
+                .sellingStatus(sellingStatus)
+                .name(name)
+                .price(4000)
+                .build();
+    }
+
+}
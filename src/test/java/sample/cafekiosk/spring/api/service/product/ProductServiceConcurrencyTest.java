@@ -0,0 +1,87 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//여러 스레드가 동시에 상품을 등록하는 상황, 블록을 작게 잡아 등록 도중 블록 예약이 여러 번 겹치도록 함
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.product.number-block-size=10")
+class ProductServiceConcurrencyTest {
+
+    private static final int THREAD_COUNT = 8;
+    private static final int PRODUCTS_PER_THREAD = 25;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductNearCache productNearCache;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+        productNearCache.clear();
+    }
+
+    @DisplayName("여러 스레드가 동시에 상품을 등록해도 상품번호는 중복되지 않는다.")
+    @Test
+    void createProductsConcurrently() throws Exception {
+        // given
+        ProductCreateServiceRequest request = ProductCreateServiceRequest.builder()
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(4000)
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                List<String> productNumbers = new ArrayList<>();
+                for (int j = 0; j < PRODUCTS_PER_THREAD; j++) {
+                    productNumbers.add(productService.createProduct(request).getProductNumber());
+                }
+                return productNumbers;
+            }));
+        }
+        start.countDown();
+
+        List<String> productNumbers = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            productNumbers.addAll(result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(productNumbers).hasSize(THREAD_COUNT * PRODUCTS_PER_THREAD)
+                .doesNotHaveDuplicates();
+        assertThat(productRepository.findAll())
+                .extracting("productNumber")
+                .containsExactlyInAnyOrderElementsOf(productNumbers);
+    }
+
+}
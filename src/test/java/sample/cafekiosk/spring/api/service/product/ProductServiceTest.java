@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductPageResponse;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
@@ -16,7 +17,10 @@ import sample.cafekiosk.spring.domain.product.ProductType;
 
 import javax.transaction.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,50 +33,117 @@ class ProductServiceTest {
     @Autowired
     private ProductRepository productRepository;
 
-    @DisplayName("신규 상품을 등록, 상품번호는 가장 최근 상품의 상품번호에서 1증가")
+    @DisplayName("신규 상품을 등록, 상품번호는 앞서 발급한 상품번호보다 큰 번호로 발급")
     @Test
     void createProduct(){
         //given
-        Product product1 = getProduct("001", ProductType.HANDMADE, ProductSellingStatus.SELLING, "아메리카노", 4000);
-        productRepository.save(product1);
         ProductCreateServiceRequest request1 = ProductCreateServiceRequest.builder()
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("아메리카노")
+                .price(4000).build();
+        ProductCreateServiceRequest request2 = ProductCreateServiceRequest.builder()
                 .type(ProductType.HANDMADE)
                 .sellingStatus(ProductSellingStatus.SELLING)
                 .name("카푸치노")
                 .price(4500).build();
 
         //when
-        ProductResponse productResponse = productService.createProduct(request1);
+        ProductResponse productResponse1 = productService.createProduct(request1);
+        ProductResponse productResponse2 = productService.createProduct(request2);
 
         //then
-        Assertions.assertThat(productResponse)
+        Assertions.assertThat(productResponse2)
+                .extracting("type", "name")
+                .contains(ProductType.HANDMADE, "카푸치노");
+        Assertions.assertThat(productResponse2.getProductNumber()).hasSizeGreaterThanOrEqualTo(3);
+        Assertions.assertThat(Integer.parseInt(productResponse2.getProductNumber()))
+                .isGreaterThan(Integer.parseInt(productResponse1.getProductNumber()));
+
+        List<Product> products = productRepository.findAll();
+        Assertions.assertThat(products).hasSize(2)
                 .extracting("productNumber", "type", "name")
-                .contains("002", ProductType.HANDMADE, "카푸치노");
+                .contains(Tuple.tuple(productResponse2.getProductNumber(), ProductType.HANDMADE, "카푸치노"));
     }
 
-    @DisplayName("등록된 상품이 1개도 없는 경우 상품번호 001 확인")
+    @DisplayName("상품을 여러 개 등록해도 상품번호는 중복되지 않는다.")
     @Test
-    void createProductWhenRepoIsEmpty(){
+    void createProductsWithUniqueProductNumbers(){
         //given
-        ProductCreateServiceRequest request1 = ProductCreateServiceRequest.builder()
+        ProductCreateServiceRequest request = ProductCreateServiceRequest.builder()
                 .type(ProductType.HANDMADE)
                 .sellingStatus(ProductSellingStatus.SELLING)
                 .name("카푸치노")
                 .price(4500).build();
 
         //when
-        ProductResponse productResponse = productService.createProduct(request1);
+        List<String> productNumbers = IntStream.range(0, 250)
+                .mapToObj(i -> productService.createProduct(request).getProductNumber())
+                .collect(Collectors.toList());
+
+        //then
+        Assertions.assertThat(productNumbers).doesNotHaveDuplicates();
+    }
+
+    @DisplayName("상품의 판매상태를 변경한다.")
+    @Test
+    void changeSellingStatus(){
+        //given
+        Product product = getProduct("001", ProductType.HANDMADE, ProductSellingStatus.SELLING, "아메리카노", 4000);
+        productRepository.save(product);
+
+        //when
+        ProductResponse productResponse = productService.changeSellingStatus("001", ProductSellingStatus.STOP_SELLING);
 
         //then
         Assertions.assertThat(productResponse)
-                .extracting("productNumber", "type", "name")
-                .contains("001", ProductType.HANDMADE, "카푸치노");
+                .extracting("productNumber", "sellingStatus")
+                .contains("001", ProductSellingStatus.STOP_SELLING);
+        Assertions.assertThat(productRepository.findAll())
+                .extracting("productNumber", "sellingStatus")
+                .containsExactly(Tuple.tuple("001", ProductSellingStatus.STOP_SELLING));
+    }
 
-        List<Product> products = productRepository.findAll();
+    @DisplayName("판매 상품을 커서 기반으로 나눠 조회한다.")
+    @Test
+    void getSellingProductsWithCursor(){
+        //given
+        Product p1 = getProduct("001", ProductType.HANDMADE, ProductSellingStatus.SELLING, "아메리카노", 4000);
+        Product p2 = getProduct("002", ProductType.HANDMADE, ProductSellingStatus.HOLD, "카페라떼", 4500);
+        Product p3 = getProduct("003", ProductType.HANDMADE, ProductSellingStatus.SELLING, "카푸치노", 5000);
+        productRepository.saveAll(List.of(p1, p2, p3));
 
-        Assertions.assertThat(products).hasSize(1)
-                .extracting("productNumber", "type", "name")
-                .contains(Tuple.tuple("001", ProductType.HANDMADE, "카푸치노"));
+        //when
+        ProductPageResponse firstPage = productService.getSellingProducts(null, 2);
+        ProductPageResponse secondPage = productService.getSellingProducts(firstPage.getNextCursor(), 2);
+
+        //then
+        Assertions.assertThat(firstPage.isHasNext()).isTrue();
+        Assertions.assertThat(firstPage.getProducts())
+                .extracting("productNumber")
+                .containsExactly("001", "002");
+        Assertions.assertThat(secondPage.isHasNext()).isFalse();
+        Assertions.assertThat(secondPage.getNextCursor()).isNull();
+        Assertions.assertThat(secondPage.getProducts())
+                .extracting("productNumber")
+                .containsExactly("003");
+    }
+
+    @DisplayName("판매 상품을 한 건씩 순서대로 넘겨준다.")
+    @Test
+    void forEachSellingProduct(){
+        //given
+        Product p1 = getProduct("001", ProductType.HANDMADE, ProductSellingStatus.SELLING, "아메리카노", 4000);
+        Product p2 = getProduct("002", ProductType.HANDMADE, ProductSellingStatus.STOP_SELLING, "카페라떼", 4500);
+        Product p3 = getProduct("003", ProductType.HANDMADE, ProductSellingStatus.HOLD, "카푸치노", 5000);
+        productRepository.saveAll(List.of(p1, p2, p3));
+
+        //when
+        List<String> productNumbers = new ArrayList<>();
+        productService.forEachSellingProduct(product -> productNumbers.add(product.getProductNumber()));
+
+        //then
+        Assertions.assertThat(productNumbers).containsExactly("001", "003");
     }
 
     private static Product getProduct(String productNumber, ProductType productType, ProductSellingStatus status,
@@ -0,0 +1,52 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedWheelTimerTest {
+
+    @DisplayName("만료 시각이 지난 키만 반환한다.")
+    @Test
+    void advance() {
+        // given
+        HashedWheelTimer<Long> timer = new HashedWheelTimer<>(100, 8, 0);
+        timer.schedule(1L, 250);
+        timer.schedule(2L, 1000);
+
+        // when // then
+        assertThat(timer.advance(200)).isEmpty();
+        assertThat(timer.advance(300)).containsExactly(1L);
+        assertThat(timer.size()).isEqualTo(1);
+    }
+
+    @DisplayName("바퀴 한 바퀴보다 긴 만료 시간도 정확한 시점에 만료된다.")
+    @Test
+    void advanceOverRounds() {
+        // given
+        HashedWheelTimer<Long> timer = new HashedWheelTimer<>(100, 8, 0);
+        timer.schedule(1L, 2500);
+
+        // when // then
+        assertThat(timer.advance(2400)).isEmpty();
+        assertThat(timer.advance(2500)).containsExactly(1L);
+    }
+
+    @DisplayName("취소한 키는 만료되지 않는다.")
+    @Test
+    void cancel() {
+        // given
+        HashedWheelTimer<Long> timer = new HashedWheelTimer<>(100, 8, 0);
+        timer.schedule(1L, 100);
+
+        // when
+        boolean canceled = timer.cancel(1L);
+
+        // then
+        assertThat(canceled).isTrue();
+        assertThat(timer.advance(1000)).isEmpty();
+        assertThat(timer.size()).isZero();
+    }
+
+}
@@ -0,0 +1,72 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.stock.ledger.enabled=true")
+class StockLedgerTest {
+
+    @Autowired
+    private StockLedger stockLedger;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @BeforeEach
+    void setUp() {
+        stockRepository.saveAll(List.of(Stock.create("001", 2), Stock.create("002", 1)));
+        stockLedger.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockRepository.deleteAllInBatch();
+    }
+
+    @DisplayName("원장에서 재고를 차감하고, 모아둔 차감분을 Stock 테이블에 반영한다.")
+    @Test
+    void reserveAndFlush() {
+        // when
+        stockLedger.reserve(Map.of("001", 1L, "002", 1L));
+        stockLedger.reserve(Map.of("001", 1L));
+        stockLedger.flush();
+
+        // then
+        assertThat(stockLedger.getQuantities(List.of("001", "002")))
+                .containsEntry("001", 0)
+                .containsEntry("002", 0);
+        assertThat(stockRepository.findAll())
+                .extracting("productNumber", "quantity")
+                .containsExactlyInAnyOrder(
+                        tuple("001", 0),
+                        tuple("002", 0)
+                );
+    }
+
+    @DisplayName("재고가 부족한 상품이 하나라도 있으면 어떤 상품의 재고도 차감하지 않는다.")
+    @Test
+    void reserveWithNoStock() {
+        // when // then
+        assertThatThrownBy(() -> stockLedger.reserve(Map.of("001", 1L, "002", 2L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("재고가 부족한 상품이 있습니다.");
+
+        assertThat(stockLedger.getQuantities(List.of("001", "002")))
+                .containsEntry("001", 2)
+                .containsEntry("002", 1);
+    }
+
+}
@@ -0,0 +1,193 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.ProductNearCache;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+//만료 처리는 별도 트랜잭션으로 커밋되어야 해서 @Transactional을 쓰지 않음
+//스케줄러가 테스트 도중 만료를 처리하지 않도록 tick을 길게 잡고 expireHolds()를 직접 호출
+@ActiveProfiles("test")
+@SpringBootTest(properties = "cafekiosk.stock.reservation.tick-ms=3600000")
+class StockReservationServiceTest {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductRepository orderProductRepository;
+    @Autowired
+    private StockRepository stockRepository;
+    @Autowired
+    private ProductNearCache productNearCache;
+
+    @AfterEach
+    void tearDown() {
+        orderProductRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        stockRepository.deleteAllInBatch();
+        productNearCache.clear();
+    }
+
+    @DisplayName("결제 대기 시간이 지난 주문은 취소되고 잡아둔 재고가 되돌아온다.")
+    @Test
+    void expireHolds() {
+        // given
+        OrderResponse order = createExpiredOrder();
+        assertThat(findStockQuantity()).isEqualTo(1);
+        assertThat(stockReservationService.getHoldCount()).isEqualTo(1);
+
+        // when
+        stockReservationService.expireHolds();
+
+        // then
+        assertThat(orderRepository.findById(order.getId()))
+                .get()
+                .extracting("orderStatus")
+                .isEqualTo(OrderStatus.CANCELED);
+        assertThat(findStockQuantity()).isEqualTo(2);
+        assertThat(stockReservationService.getHoldCount()).isZero();
+    }
+
+    @DisplayName("결제 완료 중인 주문이 먼저 만료되면 결제는 버전 충돌로 실패하고, 재고는 한 번만 되돌아온다.")
+    @Test
+    void expireHoldsWhilePaying() {
+        // given
+        OrderResponse orderResponse = createExpiredOrder();
+
+        // when
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(orderResponse.getId()).orElseThrow();
+            //결제 트랜잭션이 주문을 읽은 뒤, 다른 스레드에서 만료가 먼저 커밋됨
+            CompletableFuture.runAsync(stockReservationService::expireHolds).join();
+            order.completePayment();
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        // then
+        assertThat(orderRepository.findById(orderResponse.getId()))
+                .get()
+                .extracting("orderStatus")
+                .isEqualTo(OrderStatus.CANCELED);
+        assertThat(findStockQuantity()).isEqualTo(2);
+    }
+
+    @DisplayName("결제가 먼저 완료된 주문은 만료 처리 대상에서 빠지고 재고를 되돌리지 않는다.")
+    @Test
+    void expireHoldsAfterPayment() throws Exception {
+        // given
+        OrderResponse orderResponse = createExpiredOrder();
+
+        // when
+        orderService.completePayment(orderResponse.getId());
+        //결제 확정과 만료 tick이 엇갈려 타이머에 홀드가 남아 있는 상황
+        stockReservationService.hold(orderRepository.findById(orderResponse.getId()).orElseThrow());
+        CompletableFuture.runAsync(stockReservationService::expireHolds).get(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(orderRepository.findById(orderResponse.getId()))
+                .get()
+                .extracting("orderStatus")
+                .isEqualTo(OrderStatus.PAYMENT_COMPLETED);
+        assertThat(findStockQuantity()).isEqualTo(1);
+    }
+
+    @DisplayName("재시작 시 아직 만료되지 않은 결제 대기 주문만 홀드를 다시 등록한다.")
+    @Test
+    void reloadHolds() {
+        // given
+        Product product = productRepository.save(createProduct());
+        Order recentOrder = orderRepository.save(Order.create(List.of(product), LocalDateTime.now()));
+        orderRepository.save(Order.create(List.of(product), LocalDateTime.now().minusDays(30)));
+
+        // when
+        stockReservationService.reloadHolds();
+
+        // then
+        assertThat(stockReservationService.getHoldCount()).isEqualTo(1);
+        stockReservationService.confirm(recentOrder);
+        assertThat(stockReservationService.getHoldCount()).isZero();
+    }
+
+    @DisplayName("지정한 시각 이전의 결제 대기 주문은 재고를 되돌리지 않고 취소한다.")
+    @Test
+    void cancelStaleOrders() {
+        // given
+        Product product = productRepository.save(createProduct());
+        stockRepository.save(Stock.create("001", 2));
+        Order staleOrder = orderRepository.save(Order.create(List.of(product), LocalDateTime.of(2023, 3, 1, 10, 0)));
+        Order recentOrder = orderRepository.save(Order.create(List.of(product), LocalDateTime.of(2023, 3, 10, 10, 0)));
+
+        // when
+        int canceled = stockReservationService.cancelStaleOrders(LocalDateTime.of(2023, 3, 5, 0, 0));
+
+        // then
+        assertThat(canceled).isEqualTo(1);
+        assertThat(orderRepository.findById(staleOrder.getId())).get()
+                .extracting("orderStatus")
+                .isEqualTo(OrderStatus.CANCELED);
+        assertThat(orderRepository.findById(recentOrder.getId())).get()
+                .extracting("orderStatus")
+                .isEqualTo(OrderStatus.INIT);
+        assertThat(findStockQuantity()).isEqualTo(2);
+    }
+
+    //재고 2개 중 1개를 잡고, 결제 대기 시간이 이미 지난 주문
+    private OrderResponse createExpiredOrder() {
+        productRepository.save(createProduct());
+        stockRepository.save(Stock.create("001", 2));
+
+        OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+                .productNumbers(List.of("001"))
+                .build();
+        return orderService.createOrder(request, LocalDateTime.now().minusHours(1));
+    }
+
+    private Product createProduct() {
+        return Product.builder()
+                .productNumber("001")
+                .type(ProductType.BOTTLE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("병 음료")
+                .price(1000)
+                .build();
+    }
+
+    private int findStockQuantity() {
+        return stockRepository.findAllByProductNumberIn(List.of("001")).get(0).getQuantity();
+    }
+
+}
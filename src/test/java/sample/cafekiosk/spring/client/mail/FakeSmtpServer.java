@@ -0,0 +1,236 @@
+package sample.cafekiosk.spring.client.mail;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 테스트용으로 로컬에서 띄우는 SMTP 서버
+ * 받은 메일은 메모리에 쌓아두고, 응답을 보낼 때마다 replyDelayMillis만큼 기다려 네트워크 왕복 시간을 흉내 낸다.
+ * (클라이언트가 여러 명령을 한 번에 보내면 응답도 한 번에 모아 보내므로 왕복 한 번으로 계산됨)
+ */
+class FakeSmtpServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final boolean pipelining;
+    private final long replyDelayMillis;
+
+    private final List<Mail> receivedMails = new CopyOnWriteArrayList<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    FakeSmtpServer(boolean pipelining, long replyDelayMillis) throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        this.pipelining = pipelining;
+        this.replyDelayMillis = replyDelayMillis;
+        executor.execute(this::acceptLoop);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<Mail> getReceivedMails() {
+        return receivedMails;
+    }
+
+    int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    void reject(String recipient) {
+        rejectedRecipients.add(recipient);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionCount.incrementAndGet();
+                executor.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                return;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            Session session = new Session(reader, writer);
+            session.reply("220 localhost fake smtp");
+            session.flushIfIdle();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!session.handle(line)) {
+                    session.flushIfIdle();
+                    return;
+                }
+                session.flushIfIdle();
+            }
+        } catch (IOException ignored) {
+            //클라이언트가 연결을 끊은 경우
+        }
+    }
+
+    private class Session {
+        private final BufferedReader reader;
+        private final Writer writer;
+        private String from;
+        private String to;
+        private boolean recipientAccepted;
+        private boolean hasReply;
+
+        private Session(BufferedReader reader, Writer writer) {
+            this.reader = reader;
+            this.writer = writer;
+        }
+
+        private boolean handle(String line) throws IOException {
+            String command = line.toUpperCase();
+            if (command.startsWith("EHLO")) {
+                reply(pipelining ? "250-localhost\r\n250 PIPELINING" : "250 localhost");
+            } else if (command.startsWith("MAIL FROM:")) {
+                from = address(line);
+                reply("250 OK");
+            } else if (command.startsWith("RCPT TO:")) {
+                to = address(line);
+                recipientAccepted = !rejectedRecipients.contains(to);
+                reply(recipientAccepted ? "250 OK" : "550 No such user");
+            } else if (command.equals("DATA")) {
+                if (!recipientAccepted) {
+                    reply("554 No valid recipients");
+                    return true;
+                }
+                reply("354 End data with <CR><LF>.<CR><LF>");
+                flushIfIdle();
+                receivedMails.add(readMail());
+                reply("250 OK");
+            } else if (command.equals("RSET")) {
+                from = null;
+                to = null;
+                reply("250 OK");
+            } else if (command.equals("NOOP")) {
+                reply("250 OK");
+            } else if (command.equals("QUIT")) {
+                reply("221 Bye");
+                return false;
+            } else {
+                reply("502 Command not implemented");
+            }
+            return true;
+        }
+
+        private Mail readMail() throws IOException {
+            Map<String, String> headers = new HashMap<>();
+            StringBuilder body = new StringBuilder();
+            boolean inBody = false;
+            String line;
+            while ((line = reader.readLine()) != null && !line.equals(".")) {
+                if (inBody) {
+                    body.append(line);
+                } else if (line.isEmpty()) {
+                    inBody = true;
+                } else {
+                    int colon = line.indexOf(':');
+                    headers.put(line.substring(0, colon), line.substring(colon + 1).trim());
+                }
+            }
+            String subject = headers.get("Subject").replace("=?UTF-8?B?", "").replace("?=", "");
+            return new Mail(from, to, decode(subject), decode(body.toString()));
+        }
+
+        private void reply(String line) throws IOException {
+            writer.write(line);
+            writer.write("\r\n");
+            hasReply = true;
+        }
+
+        //클라이언트가 이어서 보낸 명령이 남아 있지 않을 때만 모아둔 응답을 보냄
+        private void flushIfIdle() throws IOException {
+            if (!hasReply || reader.ready()) {
+                return;
+            }
+            if (replyDelayMillis > 0) {
+                try {
+                    Thread.sleep(replyDelayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            writer.flush();
+            hasReply = false;
+        }
+
+        private String address(String line) {
+            return line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+        }
+
+        private String decode(String base64) {
+            return new String(Base64.getDecoder().decode(base64), StandardCharsets.UTF_8);
+        }
+    }
+
+    static class Mail {
+        private final String from;
+        private final String to;
+        private final String subject;
+        private final String content;
+
+        Mail(String from, String to, String subject, String content) {
+            this.from = from;
+            this.to = to;
+            this.subject = subject;
+            this.content = content;
+        }
+
+        public String getFrom() {
+            return from;
+        }
+
+        public String getTo() {
+            return to;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+package sample.cafekiosk.spring.client.mail;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SmtpConnectionPoolTest {
+
+    private FakeSmtpServer server;
+    private SmtpConnectionPool pool;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (pool != null) {
+            pool.close();
+        }
+        server.close();
+    }
+
+    @DisplayName("연결 하나로 여러 메일을 이어서 보낸다.")
+    @Test
+    void sendWithPersistentConnection() throws IOException {
+        // given
+        server = new FakeSmtpServer(true, 0);
+        pool = createPool(2, 100, 1000);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            assertThat(pool.send("no-reply@cafekiosk.com", "user" + i + "@test.com", "[매출통계] 2023-03-05", "총 매출 합계는 12000 원입니다.")).isTrue();
+        }
+
+        // then
+        assertThat(server.getConnectionCount()).isEqualTo(1);
+        assertThat(server.getReceivedMails()).hasSize(5)
+                .extracting("from", "subject", "content")
+                .containsOnly(tuple("no-reply@cafekiosk.com", "[매출통계] 2023-03-05", "총 매출 합계는 12000 원입니다."));
+    }
+
+    @DisplayName("여러 스레드가 동시에 보내도 연결은 pool 크기만큼만 연다.")
+    @Test
+    void sendConcurrently() throws Exception {
+        // given
+        server = new FakeSmtpServer(true, 1);
+        pool = createPool(2, 100, 5000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            String toEmail = "user" + i + "@test.com";
+            results.add(executor.submit(() -> pool.send("no-reply@cafekiosk.com", toEmail, "제목", "내용")));
+        }
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+        }
+        executor.shutdown();
+
+        // then
+        assertThat(server.getReceivedMails()).hasSize(40);
+        assertThat(server.getConnectionCount()).isLessThanOrEqualTo(2);
+        assertThat(pool.getOpenedCount()).isLessThanOrEqualTo(2);
+    }
+
+    @DisplayName("서버가 수신자를 거절하면 false를 반환하고, 같은 연결로 다음 메일을 보낸다.")
+    @Test
+    void sendToRejectedRecipient() throws IOException {
+        // given
+        server = new FakeSmtpServer(true, 0);
+        server.reject("unknown@test.com");
+        pool = createPool(1, 100, 1000);
+
+        // when
+        boolean rejected = pool.send("no-reply@cafekiosk.com", "unknown@test.com", "제목", "내용");
+        boolean sent = pool.send("no-reply@cafekiosk.com", "user@test.com", "제목", "내용");
+
+        // then
+        assertThat(rejected).isFalse();
+        assertThat(sent).isTrue();
+        assertThat(server.getConnectionCount()).isEqualTo(1);
+        assertThat(server.getReceivedMails())
+                .extracting("to")
+                .containsExactly("user@test.com");
+    }
+
+    @DisplayName("메일 주소에 줄바꿈이나 꺾쇠가 있으면 서버에 아무것도 보내지 않고 예외가 발생한다.")
+    @Test
+    void sendWithInjectedAddress() throws IOException {
+        // given
+        server = new FakeSmtpServer(true, 0);
+        pool = createPool(1, 100, 1000);
+
+        // when // then
+        assertThatThrownBy(() -> pool.send("no-reply@cafekiosk.com", "user@test.com>\r\nRCPT TO:<other@test.com", "제목", "내용"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("올바르지 않은 메일 주소입니다.");
+        assertThatThrownBy(() -> pool.send("no-reply@cafekiosk.com\r\nBcc: other@test.com", "user@test.com", "제목", "내용"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("올바르지 않은 메일 주소입니다.");
+        assertThat(pool.send("no-reply@cafekiosk.com", "user@test.com", "제목", "내용")).isTrue();
+        assertThat(server.getReceivedMails())
+                .extracting("to")
+                .containsExactly("user@test.com");
+    }
+
+    @DisplayName("PIPELINING을 지원하지 않는 서버에는 명령을 하나씩 보낸다.")
+    @Test
+    void sendWithoutPipelining() throws IOException {
+        // given
+        server = new FakeSmtpServer(false, 0);
+        server.reject("unknown@test.com");
+        pool = createPool(1, 100, 1000);
+
+        // when
+        boolean rejected = pool.send("no-reply@cafekiosk.com", "unknown@test.com", "제목", "내용");
+        boolean sent = pool.send("no-reply@cafekiosk.com", "user@test.com", "제목", "내용");
+
+        // then
+        assertThat(rejected).isFalse();
+        assertThat(sent).isTrue();
+        assertThat(server.getReceivedMails()).hasSize(1);
+    }
+
+    @DisplayName("연결 하나로 정해진 개수만큼 보내면 새로 연결한다.")
+    @Test
+    void reconnectAfterMaxMessages() throws IOException {
+        // given
+        server = new FakeSmtpServer(true, 0);
+        pool = createPool(1, 3, 1000);
+
+        // when
+        for (int i = 0; i < 7; i++) {
+            pool.send("no-reply@cafekiosk.com", "user@test.com", "제목", "내용");
+        }
+
+        // then
+        assertThat(server.getReceivedMails()).hasSize(7);
+        assertThat(server.getConnectionCount()).isEqualTo(3);
+    }
+
+    @DisplayName("모든 연결이 사용 중이면 정해진 시간만 기다리고 예외가 발생한다.")
+    @Test
+    void sendWhenPoolExhausted() throws Exception {
+        // given
+        server = new FakeSmtpServer(true, 300);
+        pool = createPool(1, 100, 10);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Boolean> slowSend = executor.submit(() -> pool.send("no-reply@cafekiosk.com", "a@test.com", "제목", "내용"));
+        Thread.sleep(100);
+
+        // when // then
+        assertThatThrownBy(() -> pool.send("no-reply@cafekiosk.com", "b@test.com", "제목", "내용"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("메일 서버 연결을 기다리는 시간이 초과되었습니다.");
+        assertThat(slowSend.get(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+    }
+
+    private SmtpConnectionPool createPool(int poolSize, int maxMessagesPerConnection, long borrowTimeoutMillis) {
+        return SmtpConnectionPool.builder()
+                .host("localhost")
+                .port(server.getPort())
+                .heloName("cafekiosk")
+                .poolSize(poolSize)
+                .connectTimeoutMillis(1000)
+                .readTimeoutMillis(5000)
+                .borrowTimeoutMillis(borrowTimeoutMillis)
+                .maxMessagesPerConnection(maxMessagesPerConnection)
+                .validateAfterIdleMillis(30000)
+                .build();
+    }
+
+}
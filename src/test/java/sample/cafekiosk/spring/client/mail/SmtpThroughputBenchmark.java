@@ -0,0 +1,69 @@
+package sample.cafekiosk.spring.client.mail;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * pool 크기별 초당 메일 전송 수 측정, ./gradlew benchmark 로 실행
+ * 가짜 서버가 응답마다 REPLY_DELAY_MILLIS만큼 기다려 메일 서버까지의 왕복 시간을 흉내 낸다.
+ */
+@Tag("benchmark")
+class SmtpThroughputBenchmark {
+
+    private static final long REPLY_DELAY_MILLIS = 2;
+    private static final int MAIL_COUNT = 1000;
+    private static final int SENDER_THREADS = 16;
+
+    @DisplayName("연결을 재사용하고 명령을 묶어 보낼 때 pool 크기별 처리량")
+    @Test
+    void throughputByPoolSize() throws Exception {
+        System.out.println("pipelining | pool | 연결당 메일 | mails/sec | 연결 수");
+        for (int poolSize : new int[]{1, 2, 4, 8, 16}) {
+            measure(true, poolSize, 1);
+            measure(false, poolSize, 100);
+            measure(true, poolSize, 100);
+        }
+    }
+
+    private void measure(boolean pipelining, int poolSize, int maxMessagesPerConnection) throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(pipelining, REPLY_DELAY_MILLIS);
+             SmtpConnectionPool pool = SmtpConnectionPool.builder()
+                     .host("localhost")
+                     .port(server.getPort())
+                     .heloName("cafekiosk")
+                     .poolSize(poolSize)
+                     .connectTimeoutMillis(1000)
+                     .readTimeoutMillis(5000)
+                     .borrowTimeoutMillis(60000)
+                     .maxMessagesPerConnection(maxMessagesPerConnection)
+                     .validateAfterIdleMillis(30000)
+                     .build()) {
+            ExecutorService executor = Executors.newFixedThreadPool(SENDER_THREADS);
+            long start = System.nanoTime();
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < MAIL_COUNT; i++) {
+                String toEmail = "user" + i + "@test.com";
+                results.add(executor.submit(() -> pool.send("no-reply@cafekiosk.com", toEmail, "[매출통계] 2023-03-05", "총 매출 합계는 12000 원입니다.")));
+            }
+            for (Future<Boolean> result : results) {
+                result.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            executor.shutdown();
+
+            assertThat(server.getReceivedMails()).hasSize(MAIL_COUNT);
+            System.out.printf("%10s | %4d | %10d | %9.0f | %d%n",
+                    pipelining, poolSize, maxMessagesPerConnection, MAIL_COUNT / seconds, server.getConnectionCount());
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package sample.cafekiosk.spring.domain.history.mail;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailOutboxTest {
+
+    @DisplayName("전송에 실패하면 다음 시도 시각을 정하고, 최대 시도 횟수에 도달하면 더 이상 재시도하지 않는다.")
+    @Test
+    void markFailed() {
+        // given
+        LocalDateTime now = LocalDateTime.of(2023, 3, 5, 10, 0);
+        MailOutbox outbox = MailOutbox.create("no-reply@cafekiosk.com", "a@test.com", "제목", "내용", now);
+
+        // when
+        outbox.markFailed(now.plusSeconds(1), 2);
+
+        // then
+        assertThat(outbox.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+        assertThat(outbox.getNextAttemptDateTime()).isEqualTo(now.plusSeconds(1));
+
+        // when
+        outbox.markFailed(now.plusSeconds(3), 2);
+
+        // then
+        assertThat(outbox.getStatus()).isEqualTo(MailOutboxStatus.FAILED);
+        assertThat(outbox.getAttemptCount()).isEqualTo(2);
+    }
+
+}
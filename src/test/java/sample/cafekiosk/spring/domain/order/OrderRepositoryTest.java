@@ -0,0 +1,76 @@
+package sample.cafekiosk.spring.domain.order;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class OrderRepositoryTest {
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @DisplayName("주문 상품과 상품을 함께 조회해서 주문 여러 건의 응답을 쿼리 한 번으로 만든다.")
+    @Test
+    void findAllWithProductsByIdIn(){
+        //given
+        Product p1 = getProduct("001", 4000);
+        Product p2 = getProduct("002", 5000);
+        Product p3 = getProduct("003", 6000);
+        productRepository.saveAll(List.of(p1, p2, p3));
+
+        Order order1 = orderRepository.save(Order.create(List.of(p1, p2), LocalDateTime.now()));
+        Order order2 = orderRepository.save(Order.create(List.of(p2, p3, p3), LocalDateTime.now()));
+        Order order3 = orderRepository.save(Order.create(List.of(p1), LocalDateTime.now()));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        //when
+        List<OrderResponse> responses = orderRepository.findAllWithProductsByIdIn(
+                        List.of(order1.getId(), order2.getId(), order3.getId())).stream()
+                .map(OrderResponse::of)
+                .collect(Collectors.toList());
+
+        //then
+        assertThat(responses).hasSize(3)
+                .extracting("totalPrice")
+                .containsExactlyInAnyOrder(9000, 17000, 4000);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static Product getProduct(String productNumber, int price) {
+        return Product.builder()
+                .productNumber(productNumber)
+                .type(ProductType.HANDMADE)
+                .sellingStatus(ProductSellingStatus.SELLING)
+                .name("메뉴 이름")
+                .price(price)
+                .build();
+    }
+}
@@ -2,12 +2,15 @@ package sample.cafekiosk.spring.domain.order;
 
 import org.aspectj.weaver.ast.Or;
 import org.assertj.core.api.Assertions;
+import org.assertj.core.groups.Tuple;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSnapshot;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,6 +62,63 @@ class OrderTest {
         //then
         Assertions.assertThat(order.getRegisteredDateTime()).isEqualTo(now);
     }
+
+    @DisplayName("같은 상품을 여러 개 주문하면 주문 상품은 한 줄로 묶이고 수량으로 기록된다.")
+    @Test
+    void collapseOrderProducts(){
+        //given
+        Product p1 = getProduct("001", 4000);
+        Product p2 = getProduct("002", 6000);
+
+        //when
+        Order order = Order.create(List.of(p1, p2, p1, p1), LocalDateTime.now());
+
+        //then
+        Assertions.assertThat(order.getOrderProducts()).hasSize(2)
+                .extracting("product.productNumber", "quantity", "unitPrice")
+                .containsExactly(
+                        Tuple.tuple("001", 3, 4000),
+                        Tuple.tuple("002", 1, 6000)
+                );
+        Assertions.assertThat(order.getTotalPrice()).isEqualTo(18000);
+    }
+
+    @DisplayName("캐시한 상품 값으로 주문하면 단가는 상품 값에서, 주문 상품의 상품은 id로 얻은 참조를 쓴다.")
+    @Test
+    void createWithProductSnapshots(){
+        //given
+        Product p1 = getProduct("001", 4000);
+        Product p2 = getProduct("002", 6000);
+        ProductSnapshot s1 = ProductSnapshot.builder().id(1L).productNumber("001").price(4500).build();
+        ProductSnapshot s2 = ProductSnapshot.builder().id(2L).productNumber("002").price(6000).build();
+        Map<Long, Product> references = Map.of(1L, p1, 2L, p2);
+
+        //when
+        Order order = Order.create(List.of(s1, s2, s1), references::get, LocalDateTime.now());
+
+        //then
+        Assertions.assertThat(order.getOrderProducts()).hasSize(2)
+                .extracting("product", "quantity", "unitPrice")
+                .containsExactly(
+                        Tuple.tuple(p1, 2, 4500),
+                        Tuple.tuple(p2, 1, 6000)
+                );
+        Assertions.assertThat(order.getTotalPrice()).isEqualTo(15000);
+    }
+
+    @DisplayName("결제 대기 중이 아닌 주문은 취소할 수 없다.")
+    @Test
+    void cancelWhenNotWaitingForPayment(){
+        //given
+        Order order = Order.create(List.of(getProduct("001", 4000)), LocalDateTime.now());
+        order.completePayment();
+
+        //when //then
+        Assertions.assertThatThrownBy(order::cancel)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("결제 대기 중인 주문이 아닙니다.");
+    }
+
     private static Product getProduct(String productNumber, int price) {
         return Product.builder().productNumber(productNumber).price(price).build();
     }
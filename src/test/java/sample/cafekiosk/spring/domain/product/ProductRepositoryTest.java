@@ -6,6 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import javax.transaction.Transactional;
@@ -95,6 +96,26 @@ class ProductRepositoryTest {
         Assertions.assertThat(latestProductNumber).isNull();
     }
 
+    @DisplayName("마지막으로 읽은 상품 id 이후의 판매 상품을 id 순서로 원하는 개수만큼 조회한다.")
+    @Test
+    void findAllBySellingStatusInAndIdGreaterThan(){
+        //given
+        Product p1 = getProduct("001", ProductType.HANDMADE, ProductSellingStatus.SELLING, "아메리카노", 4000);
+        Product p2 = getProduct("002", ProductType.HANDMADE, ProductSellingStatus.STOP_SELLING, "카페라떼", 4500);
+        Product p3 = getProduct("003", ProductType.HANDMADE, ProductSellingStatus.HOLD, "카라멜 마끼아또", 6000);
+        Product p4 = getProduct("004", ProductType.HANDMADE, ProductSellingStatus.SELLING, "카푸치노", 5000);
+        productRepository.saveAll(List.of(p1, p2, p3, p4));
+
+        //when
+        List<Product> products = productRepository.findAllBySellingStatusInAndIdGreaterThanOrderByIdAsc(
+                ProductSellingStatus.forDisplay(), p1.getId(), PageRequest.of(0, 1));
+
+        //then
+        Assertions.assertThat(products).hasSize(1)
+                .extracting("productNumber")
+                .containsExactly("003");
+    }
+
     private static Product getProduct(String productNum, ProductType productType, ProductSellingStatus productSellingStatus,
                                       String name, int price) {
         return Product.builder()
@@ -36,4 +36,38 @@ class StockRepositoryTest {
                         Tuple.tuple("003", 2)
                 );
     }
+
+    @DisplayName("재고가 충분하면 조건부 update로 재고를 차감한다.")
+    @Test
+    void deductQuantity(){
+        //given
+        Stock stock = Stock.create("001", 2);
+        stockRepository.save(stock);
+
+        //when
+        int updatedCount = stockRepository.deductQuantity("001", 2);
+
+        //then
+        Assertions.assertThat(updatedCount).isEqualTo(1);
+        Assertions.assertThat(stockRepository.findAll()).hasSize(1)
+                .extracting("productNumber", "quantity")
+                .containsExactly(Tuple.tuple("001", 0));
+    }
+
+    @DisplayName("재고가 부족하면 재고를 차감하지 않고 변경된 row 수는 0이다.")
+    @Test
+    void deductQuantityWhenQuantityIsLacking(){
+        //given
+        Stock stock = Stock.create("001", 1);
+        stockRepository.save(stock);
+
+        //when
+        int updatedCount = stockRepository.deductQuantity("001", 2);
+
+        //then
+        Assertions.assertThat(updatedCount).isZero();
+        Assertions.assertThat(stockRepository.findAll()).hasSize(1)
+                .extracting("productNumber", "quantity")
+                .containsExactly(Tuple.tuple("001", 1));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.support.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadTest {
+
+    @DisplayName("동시 호출 수가 최대치에 도달하면 기다리지 않고 거절하고, 자리가 나면 다시 받는다.")
+    @Test
+    void tryAcquire() {
+        // given
+        Bulkhead bulkhead = new Bulkhead(2);
+        bulkhead.tryAcquire();
+        bulkhead.tryAcquire();
+
+        // when
+        boolean rejected = bulkhead.tryAcquire();
+        bulkhead.release();
+        boolean acquired = bulkhead.tryAcquire();
+
+        // then
+        assertThat(rejected).isFalse();
+        assertThat(acquired).isTrue();
+        assertThat(bulkhead.getInFlight()).isEqualTo(2);
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,129 @@
+package sample.cafekiosk.spring.support.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.builder()
+            .failureRateThreshold(50)
+            .minimumCalls(4)
+            .windowSize(10)
+            .openDurationMillis(1000)
+            .halfOpenCalls(2)
+            .slowCallMillis(100)
+            .clock(now::get)
+            .build();
+
+    @DisplayName("최소 호출 수를 넘긴 뒤 실패 비율이 기준 이상이면 열리고, 열려 있는 동안에는 호출을 거절한다.")
+    @Test
+    void openWhenFailureRateExceeded() {
+        // given
+        call(true);
+        call(false);
+        call(true);
+        assertThat(circuitBreaker.getStatus()).isEqualTo(CircuitBreaker.Status.CLOSED);
+
+        // when
+        call(false);
+
+        // then
+        assertThat(circuitBreaker.getStatus()).isEqualTo(CircuitBreaker.Status.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+        assertThat(circuitBreaker.getRejectedCount()).isEqualTo(1);
+        assertThat(circuitBreaker.getOpenedCount()).isEqualTo(1);
+    }
+
+    @DisplayName("느린 호출은 성공했어도 실패로 센다.")
+    @Test
+    void openWhenCallsAreSlow() {
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertThat(circuitBreaker.tryAcquire()).isTrue();
+            circuitBreaker.onSuccess(100);
+        }
+
+        // then
+        assertThat(circuitBreaker.getStatus()).isEqualTo(CircuitBreaker.Status.OPEN);
+    }
+
+    @DisplayName("열린 뒤 정해진 시간이 지나면 시험 호출만 통과시키고, 모두 성공하면 닫힌다.")
+    @Test
+    void closeAfterHalfOpenCallsSucceed() {
+        // given
+        open();
+        now.addAndGet(1000);
+
+        // when
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        boolean third = circuitBreaker.tryAcquire();
+        circuitBreaker.onSuccess(10);
+        circuitBreaker.onSuccess(10);
+
+        // then
+        assertThat(third).isFalse();
+        assertThat(circuitBreaker.getStatus()).isEqualTo(CircuitBreaker.Status.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @DisplayName("시험 호출이 하나라도 실패하면 다시 열린다.")
+    @Test
+    void reopenWhenHalfOpenCallFails() {
+        // given
+        open();
+        now.addAndGet(1000);
+
+        // when
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.onFailure();
+
+        // then
+        assertThat(circuitBreaker.getStatus()).isEqualTo(CircuitBreaker.Status.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+        assertThat(circuitBreaker.getOpenedCount()).isEqualTo(2);
+    }
+
+    @DisplayName("집계 구간이 차면 실패 수를 새로 센다.")
+    @Test
+    void resetCountsAfterWindow() {
+        // given
+        for (int i = 0; i < 7; i++) {
+            call(true);
+        }
+        call(false);
+        call(false);
+        call(false);
+
+        // when
+        call(false);
+        call(false);
+        call(false);
+
+        // then
+        assertThat(circuitBreaker.getStatus()).isEqualTo(CircuitBreaker.Status.CLOSED);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(false);
+        }
+    }
+
+    private void call(boolean success) {
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        if (success) {
+            circuitBreaker.onSuccess(10);
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+
+}
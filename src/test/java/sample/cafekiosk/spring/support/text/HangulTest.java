@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.support.text;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HangulTest {
+
+    @DisplayName("한글 음절을 자모로 분해하고, 겹받침은 두 자음으로 나눈다.")
+    @Test
+    void toJamo() {
+        // when // then
+        assertThat(Hangul.toJamo("라떼")).isEqualTo("ㄹㅏㄸㅔ");
+        assertThat(Hangul.toJamo("닭")).isEqualTo("ㄷㅏㄹㄱ");
+        assertThat(Hangul.toJamo("값")).isEqualTo("ㄱㅏㅂㅅ");
+        assertThat(Hangul.toJamo("ㄺ")).isEqualTo("ㄹㄱ");
+        assertThat(Hangul.toJamo("tea 2")).isEqualTo("tea 2");
+    }
+
+}